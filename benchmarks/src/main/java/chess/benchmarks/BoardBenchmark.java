@@ -0,0 +1,53 @@
+package chess.benchmarks;
+
+import chess.ChessBoard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures setting up, hashing and comparing a {@link ChessBoard}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @Param
+    public GamePhase phase;
+
+    private ChessBoard board;
+    private ChessBoard equalBoard;
+    private ChessBoard scratch;
+
+    @Setup
+    public void setUp() {
+        board = phase.newGame().getBoard();
+        equalBoard = new ChessBoard(board);
+        scratch = new ChessBoard();
+    }
+
+    @Benchmark
+    public ChessBoard resetBoard() {
+        scratch.resetBoard();
+        return scratch;
+    }
+
+    @Benchmark
+    public int boardHashCode() {
+        return board.hashCode();
+    }
+
+    @Benchmark
+    public boolean boardEquals() {
+        return board.equals(equalBoard);
+    }
+
+    @Benchmark
+    public ChessBoard copyBoard() {
+        return new ChessBoard(board);
+    }
+}
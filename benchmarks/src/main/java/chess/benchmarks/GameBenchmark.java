@@ -0,0 +1,86 @@
+package chess.benchmarks;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.MoveCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the rule queries a server makes on a {@link ChessGame} after every move.
+ * <p>
+ * A game remembers what it has worked out about its current position, and
+ * legal moves are also kept in the shared {@link MoveCache}, so asking the
+ * same game twice only measures a lookup. Each invocation therefore gets a
+ * fresh copy of the game and an empty cache, made in an invocation-level
+ * setup so the copy is not part of the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    @Param
+    public GamePhase phase;
+
+    private ChessGame position;
+    private ChessGame game;
+    private final List<ChessPosition> friendlyPieces = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        position = phase.newGame();
+        friendlyPieces.clear();
+        for (int row = 1; row <= 8; row++) {
+            for (int column = 1; column <= 8; column++) {
+                ChessPosition square = ChessPosition.of(row, column);
+                var piece = position.getBoard().getPiece(square);
+                if (piece != null && piece.getTeamColor() == position.getTeamTurn()) {
+                    friendlyPieces.add(square);
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void freshGame() {
+        MoveCache.shared().clear();
+        game = new ChessGame(position);
+    }
+
+    @Benchmark
+    public void validMovesPerPiece(Blackhole blackhole) {
+        for (ChessPosition square : friendlyPieces) {
+            blackhole.consume(game.validMoves(square));
+        }
+    }
+
+    @Benchmark
+    public Collection<ChessMove> validMovesForTeam() {
+        return game.validMoves(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public boolean isInCheck() {
+        return game.isInCheck(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public boolean isInCheckmate() {
+        return game.isInCheckmate(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public boolean isInStalemate() {
+        return game.isInStalemate(game.getTeamTurn());
+    }
+}
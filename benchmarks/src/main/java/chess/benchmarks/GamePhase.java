@@ -0,0 +1,26 @@
+package chess.benchmarks;
+
+import chess.ChessGame;
+import chess.PerftPosition;
+
+/**
+ * Representative positions for each stage of a game
+ */
+public enum GamePhase {
+    OPENING(PerftPosition.START),
+    MIDDLEGAME(PerftPosition.KIWIPETE),
+    ENDGAME(PerftPosition.ENDGAME);
+
+    private final PerftPosition position;
+
+    GamePhase(PerftPosition position) {
+        this.position = position;
+    }
+
+    /**
+     * @return a new game set up at this phase's position
+     */
+    public ChessGame newGame() {
+        return position.newGame();
+    }
+}
@@ -0,0 +1,54 @@
+package chess.benchmarks;
+
+import chess.ChessBoard;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ChessPiece#pieceMoves} for every piece of one type in a position
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceMovesBenchmark {
+
+    @Param
+    public GamePhase phase;
+
+    @Param
+    public ChessPiece.PieceType type;
+
+    private ChessBoard board;
+    private final List<ChessPosition> positions = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        board = phase.newGame().getBoard();
+        positions.clear();
+        for (int row = 1; row <= 8; row++) {
+            for (int column = 1; column <= 8; column++) {
+                ChessPosition position = ChessPosition.of(row, column);
+                ChessPiece piece = board.getPiece(position);
+                if (piece != null && piece.getPieceType() == type) {
+                    positions.add(position);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void pieceMoves(Blackhole blackhole) {
+        for (ChessPosition position : positions) {
+            blackhole.consume(board.getPiece(position).pieceMoves(board, position));
+        }
+    }
+}
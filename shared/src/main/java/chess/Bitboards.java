@@ -0,0 +1,123 @@
+package chess;
+
+/**
+ * Constants and helpers for working with bitboards, where each bit of a long
+ * stands for one square of the chessboard.
+ * <p>
+ * Square 0 is row 1, column 1 and square 63 is row 8, column 8, so a square
+ * index is {@code (row - 1) * 8 + (column - 1)}.
+ */
+public final class Bitboards {
+
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long RANK_1 = 0xFFL;
+    public static final long RANK_8 = RANK_1 << 56;
+    public static final long LIGHT_SQUARES = 0x55AA55AA55AA55AAL;
+    public static final long DARK_SQUARES = ~LIGHT_SQUARES;
+
+    private static final int[][] KING_OFFSETS = {
+            {1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}
+    };
+    private static final int[][] KNIGHT_OFFSETS = {
+            {2, 1}, {1, 2}, {-1, 2}, {-2, 1}, {-2, -1}, {-1, -2}, {1, -2}, {2, -1}
+    };
+
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            KING_ATTACKS[square] = offsetTargets(square, KING_OFFSETS);
+            KNIGHT_ATTACKS[square] = offsetTargets(square, KNIGHT_OFFSETS);
+            PAWN_ATTACKS[0][square] = offsetTargets(square, new int[][]{{1, -1}, {1, 1}});
+            PAWN_ATTACKS[1][square] = offsetTargets(square, new int[][]{{-1, -1}, {-1, 1}});
+        }
+    }
+
+    private Bitboards() {
+
+    }
+
+    /**
+     * @return the square index of the given row and column, both starting at 1
+     */
+    public static int square(int row, int column) {
+        return (row - 1) * 8 + (column - 1);
+    }
+
+    /**
+     * @return the square index of the given position
+     */
+    public static int square(ChessPosition position) {
+        return square(position.getRow(), position.getColumn());
+    }
+
+    /**
+     * @return which row the square is in, 1 codes for the bottom row
+     */
+    public static int row(int square) {
+        return (square >>> 3) + 1;
+    }
+
+    /**
+     * @return which column the square is in, 1 codes for the left column
+     */
+    public static int column(int square) {
+        return (square & 7) + 1;
+    }
+
+    /**
+     * @return a bitboard with only the given square set
+     */
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    /**
+     * Gives each combination of team and piece type its own index from 0 to 11,
+     * white pieces first in {@link ChessPiece.PieceType} order
+     *
+     * @return the index of the piece kind
+     */
+    public static int pieceIndex(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return color.ordinal() * 6 + type.ordinal();
+    }
+
+    /**
+     * @return every square a king on the given square could step to, ignoring
+     * what is on those squares
+     */
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * @return every square a knight on the given square could jump to, ignoring
+     * what is on those squares
+     */
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    /**
+     * @return the squares a pawn of the given team on the given square could
+     * capture on
+     */
+    public static long pawnAttacks(ChessGame.TeamColor color, int square) {
+        return PAWN_ATTACKS[color.ordinal()][square];
+    }
+
+    private static long offsetTargets(int square, int[][] offsets) {
+        long targets = 0L;
+        for (int[] offset : offsets) {
+            int row = row(square) + offset[0];
+            int column = column(square) + offset[1];
+            if (row >= 1 && row <= 8 && column >= 1 && column <= 8) {
+                targets |= bit(square(row, column));
+            }
+        }
+        return targets;
+    }
+}
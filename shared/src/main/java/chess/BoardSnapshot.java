@@ -0,0 +1,91 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * An immutable copy of the pieces on a {@link ChessBoard}, taken with
+ * {@link ChessBoard#snapshot()}.
+ * <p>
+ * A snapshot is just the twelve piece bitboards and the Zobrist key, so taking
+ * one copies a single small array, and a board hands out the same snapshot
+ * again until its pieces next change. Since a snapshot never changes it can
+ * be passed to other threads, e.g. to be serialized, without locking.
+ */
+public final class BoardSnapshot {
+
+    private final long[] pieceBitboards;
+    private final long zobristKey;
+
+    BoardSnapshot(long[] pieceBitboards, long zobristKey) {
+        this.pieceBitboards = pieceBitboards.clone();
+        this.zobristKey = zobristKey;
+    }
+
+    /**
+     * @return Either the piece at the position, or null if no piece is at that
+     * position
+     */
+    public ChessPiece getPiece(ChessPosition position) {
+        return getPiece(position.getSquare());
+    }
+
+    /**
+     * @param square a square index, see {@link Bitboards}
+     * @return Either the piece on the square, or null if the square is empty
+     */
+    public ChessPiece getPiece(int square) {
+        long bit = Bitboards.bit(square);
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            for (ChessPiece.PieceType type : ChessPiece.PieceType.values()) {
+                if ((pieceBitboards[Bitboards.pieceIndex(color, type)] & bit) != 0) {
+                    return ChessPiece.of(color, type);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the squares holding pieces of the given team and type
+     */
+    public long getPieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return pieceBitboards[Bitboards.pieceIndex(color, type)];
+    }
+
+    /**
+     * @return the Zobrist key of the pieces, see {@link Zobrist}
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * @return a new board holding the same pieces, free to be changed
+     */
+    public ChessBoard toBoard() {
+        ChessBoard board = new ChessBoard();
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            for (ChessPiece.PieceType type : ChessPiece.PieceType.values()) {
+                ChessPiece piece = ChessPiece.of(color, type);
+                for (long pieces = getPieces(color, type); pieces != 0; pieces &= pieces - 1) {
+                    board.putPiece(Long.numberOfTrailingZeros(pieces), piece);
+                }
+            }
+        }
+        return board;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BoardSnapshot that = (BoardSnapshot) o;
+        return zobristKey == that.zobristKey && Arrays.equals(pieceBitboards, that.pieceBitboards);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(zobristKey);
+    }
+}
@@ -1,7 +1,6 @@
 package chess;
 
 import java.util.Arrays;
-import java.util.Objects;
 
 import static chess.ChessGame.TeamColor.BLACK;
 import static chess.ChessGame.TeamColor.WHITE;
@@ -10,15 +9,66 @@ import static chess.ChessPiece.PieceType.*;
 /**
  * A chessboard that can hold and rearrange chess pieces.
  * <p>
+ * The position is kept as one bitboard per team and piece type plus an
+ * occupancy bitboard per team (see {@link Bitboards} for the square layout).
+ * A flat array of the pieces on each square is kept alongside so that
+ * {@link #getPiece(ChessPosition)} is a single array load. A Zobrist key of
+ * the pieces is updated with every piece added or removed, so hashing the
+ * board is a field read. The same way, the board keeps each team's
+ * middlegame and endgame piece-square sums and the game phase (see
+ * {@link PieceSquareTables}), so evaluating the pieces is a few field reads
+ * rather than a scan of the board.
+ * <p>
+ * The board also keeps, for every square, the squares its piece attacks and
+ * the pieces attacking it, with a count and an attack map per team. These are
+ * built the first time they are asked for and then kept up to date as pieces
+ * are added and removed: only the changed square and the sliding pieces whose
+ * rays pass through it are looked at again. That makes questions like
+ * {@link #isSquareAttacked} a lookup. {@link MoveGenerator} still works
+ * attacks out from the bitboards, since in a search most positions are only
+ * visited once and keeping the tables up to date would cost more than it
+ * saves.
+ * <p>
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
 public class ChessBoard {
 
-    private final ChessPiece[][] board = new ChessPiece[8][8];
+    private final long[] pieceBitboards = new long[12];
+    private final long[] teamBitboards = new long[2];
+    private final ChessPiece[] squares = new ChessPiece[64];
+    private long zobristKey;
+    private final int[] middlegameScores = new int[2];
+    private final int[] endgameScores = new int[2];
+    private int phase;
+
+    private transient long[] attacksFrom = new long[64];
+    private transient long[] attackersOf = new long[64];
+    private transient byte[] attackCounts = new byte[128];
+    private transient long[] attackMaps = new long[2];
+    private transient boolean attacksValid;
+    private transient BoardSnapshot snapshot;
 
     public ChessBoard() {
-        
+
+    }
+
+    /**
+     * Creates a copy of another board. The copy builds its own attack tables
+     * only once they are asked for, since copies are mostly made to search,
+     * where keeping the tables up to date does not pay.
+     *
+     * @param other the board to copy
+     */
+    public ChessBoard(ChessBoard other) {
+        System.arraycopy(other.pieceBitboards, 0, pieceBitboards, 0, pieceBitboards.length);
+        System.arraycopy(other.teamBitboards, 0, teamBitboards, 0, teamBitboards.length);
+        System.arraycopy(other.squares, 0, squares, 0, squares.length);
+        zobristKey = other.zobristKey;
+        System.arraycopy(other.middlegameScores, 0, middlegameScores, 0, 2);
+        System.arraycopy(other.endgameScores, 0, endgameScores, 0, 2);
+        phase = other.phase;
+        snapshot = other.snapshot;
     }
 
     /**
@@ -28,7 +78,7 @@ public class ChessBoard {
      * @param piece    the piece to add
      */
     public void addPiece(ChessPosition position, ChessPiece piece) {
-        board[position.getRow()-1][position.getColumn()-1] = piece;
+        addPiece(position.getSquare(), piece);
     }
 
     /**
@@ -39,7 +89,30 @@ public class ChessBoard {
      * position
      */
     public ChessPiece getPiece(ChessPosition position) {
-        return board[position.getRow()-1][position.getColumn()-1];
+        return squares[position.getSquare()];
+    }
+
+    /**
+     * Gets a chess piece on the chessboard
+     *
+     * @param square the square index to get the piece from, see {@link Bitboards}
+     * @return Either the piece on the square, or null if the square is empty
+     */
+    public ChessPiece getPiece(int square) {
+        return squares[square];
+    }
+
+    /**
+     * Adds a chess piece to the chessboard, replacing whatever was there
+     *
+     * @param square the square index to add the piece to, see {@link Bitboards}
+     * @param piece  the piece to add, or null to empty the square
+     */
+    public void addPiece(int square, ChessPiece piece) {
+        removePiece(square);
+        if (piece != null) {
+            putPiece(square, piece);
+        }
     }
 
     /**
@@ -47,33 +120,306 @@ public class ChessBoard {
      * (How the game of chess normally starts)
      */
     public void resetBoard() {
-        board[0][0] = new ChessPiece(WHITE, ROOK);
-        board[0][1] = new ChessPiece(WHITE, KNIGHT);
-        board[0][2] = new ChessPiece(WHITE, BISHOP);
-        board[0][3] = new ChessPiece(WHITE, QUEEN);
-        board[0][4] = new ChessPiece(WHITE, KING);
-        board[0][5] = new ChessPiece(WHITE, BISHOP);
-        board[0][6] = new ChessPiece(WHITE, KNIGHT);
-        board[0][7] = new ChessPiece(WHITE, ROOK);
+        clear();
+        ChessPiece.PieceType[] backRow = {ROOK, KNIGHT, BISHOP, QUEEN, KING, BISHOP, KNIGHT, ROOK};
         for (int i = 0; i < 8; i++) {
-            board[1][i] = new ChessPiece(WHITE, PAWN);
+            putPiece(Bitboards.square(1, i + 1), ChessPiece.of(WHITE, backRow[i]));
+            putPiece(Bitboards.square(2, i + 1), ChessPiece.of(WHITE, PAWN));
+            putPiece(Bitboards.square(7, i + 1), ChessPiece.of(BLACK, PAWN));
+            putPiece(Bitboards.square(8, i + 1), ChessPiece.of(BLACK, backRow[i]));
+        }
+    }
+
+    /**
+     * Takes an immutable copy of the pieces on the board. The same snapshot is
+     * returned until a piece is next added or removed, so asking again costs
+     * nothing.
+     *
+     * @return a snapshot of the board as it stands
+     */
+    public BoardSnapshot snapshot() {
+        if (snapshot == null) {
+            snapshot = new BoardSnapshot(pieceBitboards, zobristKey);
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return the squares holding pieces of the given team and type
+     */
+    public long getPieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return pieceBitboards[Bitboards.pieceIndex(color, type)];
+    }
+
+    /**
+     * @return how many pieces of the given team and type are on the board
+     */
+    public int getPieceCount(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return Long.bitCount(pieceBitboards[Bitboards.pieceIndex(color, type)]);
+    }
+
+    /**
+     * Determines if neither team has the pieces to ever give checkmate: only
+     * kings remain plus either a single knight or bishop, or any number of
+     * bishops all on squares of the same color
+     *
+     * @return True if the material left on the board cannot force a checkmate
+     */
+    public boolean hasInsufficientMaterial() {
+        long heavy = 0L;
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            heavy |= getPieces(color, PAWN) | getPieces(color, ROOK) | getPieces(color, QUEEN);
+        }
+        if (heavy != 0) {
+            return false;
+        }
+        int knights = getPieceCount(WHITE, KNIGHT) + getPieceCount(BLACK, KNIGHT);
+        long bishops = getPieces(WHITE, BISHOP) | getPieces(BLACK, BISHOP);
+        if (knights + Long.bitCount(bishops) <= 1) {
+            return true;
+        }
+        return knights == 0 && ((bishops & Bitboards.LIGHT_SQUARES) == 0 || (bishops & Bitboards.DARK_SQUARES) == 0);
+    }
+
+    /**
+     * @return the squares holding any piece of the given team
+     */
+    public long getPieces(ChessGame.TeamColor color) {
+        return teamBitboards[color.ordinal()];
+    }
+
+    /**
+     * @return the squares holding any piece
+     */
+    public long getOccupied() {
+        return teamBitboards[0] | teamBitboards[1];
+    }
+
+    /**
+     * @return the Zobrist key of the pieces on the board, see {@link Zobrist}
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * @return the sum of the middlegame values of the team's pieces on their
+     * squares, see {@link PieceSquareTables#middlegame}
+     */
+    public int getMiddlegameScore(ChessGame.TeamColor color) {
+        return middlegameScores[color.ordinal()];
+    }
+
+    /**
+     * @return the sum of the endgame values of the team's pieces on their
+     * squares, see {@link PieceSquareTables#endgame}
+     */
+    public int getEndgameScore(ChessGame.TeamColor color) {
+        return endgameScores[color.ordinal()];
+    }
+
+    /**
+     * @return the game phase, from {@link PieceSquareTables#MAX_PHASE} with
+     * every piece on the board down to 0 with only kings and pawns, or more
+     * than the maximum after extra promotions
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * Finds every piece of either team that attacks a square
+     *
+     * @param square   the square being attacked
+     * @param occupied the squares to treat as occupied when looking along the
+     *                 rays of the sliding pieces
+     * @return the squares of the attacking pieces
+     */
+    public long attackersTo(int square, long occupied) {
+        long rooksAndQueens = pieceBitboards[Bitboards.pieceIndex(WHITE, ROOK)]
+                | pieceBitboards[Bitboards.pieceIndex(WHITE, QUEEN)]
+                | pieceBitboards[Bitboards.pieceIndex(BLACK, ROOK)]
+                | pieceBitboards[Bitboards.pieceIndex(BLACK, QUEEN)];
+        long bishopsAndQueens = pieceBitboards[Bitboards.pieceIndex(WHITE, BISHOP)]
+                | pieceBitboards[Bitboards.pieceIndex(WHITE, QUEEN)]
+                | pieceBitboards[Bitboards.pieceIndex(BLACK, BISHOP)]
+                | pieceBitboards[Bitboards.pieceIndex(BLACK, QUEEN)];
+        long kings = pieceBitboards[Bitboards.pieceIndex(WHITE, KING)]
+                | pieceBitboards[Bitboards.pieceIndex(BLACK, KING)];
+        long knights = pieceBitboards[Bitboards.pieceIndex(WHITE, KNIGHT)]
+                | pieceBitboards[Bitboards.pieceIndex(BLACK, KNIGHT)];
+        return (Bitboards.pawnAttacks(BLACK, square) & pieceBitboards[Bitboards.pieceIndex(WHITE, PAWN)])
+                | (Bitboards.pawnAttacks(WHITE, square) & pieceBitboards[Bitboards.pieceIndex(BLACK, PAWN)])
+                | (Bitboards.knightAttacks(square) & knights)
+                | (Bitboards.kingAttacks(square) & kings)
+                | (SlidingAttacks.rookAttacks(square, occupied) & rooksAndQueens)
+                | (SlidingAttacks.bishopAttacks(square, occupied) & bishopsAndQueens);
+    }
+
+    /**
+     * @param square   the square being attacked
+     * @param attacker the team doing the attacking
+     * @return true if any piece of the attacking team attacks the square
+     */
+    public boolean isSquareAttacked(int square, ChessGame.TeamColor attacker) {
+        return (getAttacks(attacker) & Bitboards.bit(square)) != 0;
+    }
+
+    /**
+     * Finds every piece of either team that attacks a square on the board as
+     * it stands
+     *
+     * @param square the square being attacked
+     * @return the squares of the attacking pieces
+     */
+    public long attackersTo(int square) {
+        ensureAttacks();
+        return attackersOf[square];
+    }
+
+    /**
+     * @param color the team doing the attacking
+     * @return every square attacked by at least one piece of the team
+     */
+    public long getAttacks(ChessGame.TeamColor color) {
+        ensureAttacks();
+        return attackMaps[color.ordinal()];
+    }
+
+    /**
+     * @param square the square being attacked
+     * @param color  the team doing the attacking
+     * @return how many pieces of the team attack the square
+     */
+    public int getAttackerCount(int square, ChessGame.TeamColor color) {
+        ensureAttacks();
+        return attackCounts[color.ordinal() << 6 | square];
+    }
+
+    /**
+     * Places a piece on an empty square
+     */
+    void putPiece(int square, ChessPiece piece) {
+        long bit = Bitboards.bit(square);
+        int pieceIndex = Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType());
+        pieceBitboards[pieceIndex] |= bit;
+        teamBitboards[piece.getTeamColor().ordinal()] |= bit;
+        squares[square] = piece;
+        zobristKey ^= Zobrist.piece(pieceIndex, square);
+        middlegameScores[piece.getTeamColor().ordinal()] += PieceSquareTables.middlegame(pieceIndex, square);
+        endgameScores[piece.getTeamColor().ordinal()] += PieceSquareTables.endgame(pieceIndex, square);
+        phase += PieceSquareTables.phase(pieceIndex);
+        snapshot = null;
+        if (attacksValid) {
+            updateSliders(square);
+            setAttacks(square, piece.getTeamColor().ordinal(), pieceAttacks(piece, square, getOccupied()));
         }
-        for (int k = 2; k < 6; k++) {
-            for (int l = 0; l < 8; l++) {
-                board[k][l] = null;
+    }
+
+    /**
+     * Takes whatever piece is on the square off the board
+     *
+     * @return the removed piece, or null if the square was empty
+     */
+    ChessPiece removePiece(int square) {
+        ChessPiece piece = squares[square];
+        if (piece != null) {
+            long bit = Bitboards.bit(square);
+            int pieceIndex = Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType());
+            pieceBitboards[pieceIndex] &= ~bit;
+            teamBitboards[piece.getTeamColor().ordinal()] &= ~bit;
+            squares[square] = null;
+            zobristKey ^= Zobrist.piece(pieceIndex, square);
+            middlegameScores[piece.getTeamColor().ordinal()] -= PieceSquareTables.middlegame(pieceIndex, square);
+            endgameScores[piece.getTeamColor().ordinal()] -= PieceSquareTables.endgame(pieceIndex, square);
+            phase -= PieceSquareTables.phase(pieceIndex);
+            snapshot = null;
+            if (attacksValid) {
+                setAttacks(square, piece.getTeamColor().ordinal(), 0L);
+                updateSliders(square);
             }
         }
-        for (int j = 0; j < 8; j++) {
-            board[6][j] = new ChessPiece(BLACK, PAWN);
+        return piece;
+    }
+
+    private void clear() {
+        Arrays.fill(pieceBitboards, 0L);
+        Arrays.fill(teamBitboards, 0L);
+        Arrays.fill(squares, null);
+        zobristKey = 0L;
+        Arrays.fill(middlegameScores, 0);
+        Arrays.fill(endgameScores, 0);
+        phase = 0;
+        attacksValid = false;
+        snapshot = null;
+    }
+
+    private void ensureAttacks() {
+        if (attacksValid) {
+            return;
+        }
+        Arrays.fill(attacksFrom, 0L);
+        Arrays.fill(attackersOf, 0L);
+        Arrays.fill(attackCounts, (byte) 0);
+        Arrays.fill(attackMaps, 0L);
+        long occupied = getOccupied();
+        for (long pieces = occupied; pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            ChessPiece piece = squares[square];
+            setAttacks(square, piece.getTeamColor().ordinal(), pieceAttacks(piece, square, occupied));
+        }
+        attacksValid = true;
+    }
+
+    /**
+     * Recomputes the attacks of the sliding pieces whose rays reach a square
+     * whose occupancy just changed
+     */
+    private void updateSliders(int square) {
+        long occupied = getOccupied();
+        long sliders = attackersOf[square] & (pieceBitboards[Bitboards.pieceIndex(WHITE, QUEEN)]
+                | pieceBitboards[Bitboards.pieceIndex(WHITE, BISHOP)]
+                | pieceBitboards[Bitboards.pieceIndex(WHITE, ROOK)]
+                | pieceBitboards[Bitboards.pieceIndex(BLACK, QUEEN)]
+                | pieceBitboards[Bitboards.pieceIndex(BLACK, BISHOP)]
+                | pieceBitboards[Bitboards.pieceIndex(BLACK, ROOK)]);
+        while (sliders != 0) {
+            int slider = Long.numberOfTrailingZeros(sliders);
+            sliders &= sliders - 1;
+            ChessPiece piece = squares[slider];
+            setAttacks(slider, piece.getTeamColor().ordinal(), pieceAttacks(piece, slider, occupied));
         }
-        board[7][0] = new ChessPiece(BLACK, ROOK);
-        board[7][1] = new ChessPiece(BLACK, KNIGHT);
-        board[7][2] = new ChessPiece(BLACK, BISHOP);
-        board[7][3] = new ChessPiece(BLACK, QUEEN);
-        board[7][4] = new ChessPiece(BLACK, KING);
-        board[7][5] = new ChessPiece(BLACK, BISHOP);
-        board[7][6] = new ChessPiece(BLACK, KNIGHT);
-        board[7][7] = new ChessPiece(BLACK, ROOK);
+    }
+
+    private void setAttacks(int square, int color, long attacks) {
+        long bit = Bitboards.bit(square);
+        long changed = attacksFrom[square] ^ attacks;
+        attacksFrom[square] = attacks;
+        int base = color << 6;
+        while (changed != 0) {
+            int target = Long.numberOfTrailingZeros(changed);
+            long targetBit = changed & -changed;
+            changed &= changed - 1;
+            attackersOf[target] ^= bit;
+            if ((attacks & targetBit) != 0) {
+                if (attackCounts[base | target]++ == 0) {
+                    attackMaps[color] |= targetBit;
+                }
+            } else if (--attackCounts[base | target] == 0) {
+                attackMaps[color] &= ~targetBit;
+            }
+        }
+    }
+
+    private static long pieceAttacks(ChessPiece piece, int square, long occupied) {
+        return switch (piece.getPieceType()) {
+            case PAWN -> Bitboards.pawnAttacks(piece.getTeamColor(), square);
+            case KNIGHT -> Bitboards.knightAttacks(square);
+            case BISHOP -> SlidingAttacks.bishopAttacks(square, occupied);
+            case ROOK -> SlidingAttacks.rookAttacks(square, occupied);
+            case QUEEN -> SlidingAttacks.queenAttacks(square, occupied);
+            case KING -> Bitboards.kingAttacks(square);
+        };
     }
 
     @Override
@@ -82,11 +428,11 @@ public class ChessBoard {
             return false;
         }
         ChessBoard that = (ChessBoard) o;
-        return Objects.deepEquals(board, that.board);
+        return zobristKey == that.zobristKey && Arrays.equals(pieceBitboards, that.pieceBitboards);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(board);
+        return Long.hashCode(zobristKey);
     }
 }
@@ -1,24 +1,99 @@
 package chess;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 
 /**
  * For a class that can manage a chess game, making moves on a board
  * <p>
+ * Besides the board and whose turn it is, the game tracks the castling rights
+ * and en passant square. These are folded together with the board's Zobrist
+ * key into a 64-bit position key, see {@link #getPositionKey()}.
+ * <p>
+ * Moves are played in place on the board and recorded on an undo stack, so
+ * {@link #undoMove()} can take back any move made with {@link #makeMove} or
+ * {@link #doMove}. Trial moves used to test for check are made and undone the
+ * same way rather than on a copy of the board. Legal moves come straight
+ * from {@link MoveGenerator}, which never needs to try a move to see whether it
+ * leaves the king in check.
+ * <p>
+ * Answers about the current position (check, checkmate, stalemate and valid
+ * moves) are cached in a {@link GameStatus} until the position changes, so
+ * asking the same question again before the next move is cheap.
+ * <p>
+ * The game also records the key of every position it has passed through and
+ * a halfmove clock, so it can tell when it is drawn by threefold repetition
+ * or the fifty-move rule.
+ * <p>
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
 public class ChessGame {
 
+    static final int WHITE_KINGSIDE = 1;
+    static final int WHITE_QUEENSIDE = 2;
+    static final int BLACK_KINGSIDE = 4;
+    static final int BLACK_QUEENSIDE = 8;
+
+    private static final int[] CASTLING_MASKS = new int[64];
+
+    static {
+        Arrays.fill(CASTLING_MASKS, 15);
+        CASTLING_MASKS[Bitboards.square(1, 1)] &= ~WHITE_QUEENSIDE;
+        CASTLING_MASKS[Bitboards.square(1, 5)] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+        CASTLING_MASKS[Bitboards.square(1, 8)] &= ~WHITE_KINGSIDE;
+        CASTLING_MASKS[Bitboards.square(8, 1)] &= ~BLACK_QUEENSIDE;
+        CASTLING_MASKS[Bitboards.square(8, 5)] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        CASTLING_MASKS[Bitboards.square(8, 8)] &= ~BLACK_KINGSIDE;
+    }
+
+    private ChessBoard board = new ChessBoard();
+    private TeamColor teamTurn = TeamColor.WHITE;
+    private int castlingRights;
+    private int enPassantSquare = -1;
+    private long stateKey;
+    private int halfmoveClock;
+    private int fullmoveNumber = 1;
+    private long[] keyHistory = new long[32];
+    private int historyCount;
+
+    private transient long[] undoKeys = new long[32];
+    private transient int[] undoStates = new int[32];
+    private transient int[] undoClocks = new int[32];
+    private transient ChessPiece[] undoMoved = new ChessPiece[32];
+    private transient ChessPiece[] undoCaptured = new ChessPiece[32];
+    private transient int undoCount;
+    private transient GameStatus status = new GameStatus();
+
     public ChessGame() {
+        board.resetBoard();
+        setState(TeamColor.WHITE, inferCastlingRights(board), -1);
+    }
 
+    /**
+     * Creates a copy of another game's position, with its own board. The moves
+     * that led to the position are not copied, so there is nothing to undo.
+     *
+     * @param other the game to copy
+     */
+    public ChessGame(ChessGame other) {
+        board = new ChessBoard(other.board);
+        teamTurn = other.teamTurn;
+        castlingRights = other.castlingRights;
+        enPassantSquare = other.enPassantSquare;
+        stateKey = other.stateKey;
+        halfmoveClock = other.halfmoveClock;
+        fullmoveNumber = other.fullmoveNumber;
+        keyHistory = other.keyHistory.clone();
+        historyCount = other.historyCount;
     }
 
     /**
      * @return Which team's turn it is
      */
     public TeamColor getTeamTurn() {
-        throw new RuntimeException("Not implemented");
+        return teamTurn;
     }
 
     /**
@@ -27,7 +102,8 @@ public class ChessGame {
      * @param team the team whose turn it is
      */
     public void setTeamTurn(TeamColor team) {
-        throw new RuntimeException("Not implemented");
+        setState(team, castlingRights, team == teamTurn ? enPassantSquare : -1);
+        status.invalidate();
     }
 
     /**
@@ -35,7 +111,14 @@ public class ChessGame {
      */
     public enum TeamColor {
         WHITE,
-        BLACK
+        BLACK;
+
+        /**
+         * @return the team playing against this one
+         */
+        public TeamColor opponent() {
+            return this == WHITE ? BLACK : WHITE;
+        }
     }
 
     /**
@@ -46,7 +129,30 @@ public class ChessGame {
      * startPosition
      */
     public Collection<ChessMove> validMoves(ChessPosition startPosition) {
-        throw new RuntimeException("Not implemented");
+        ChessPiece piece = board.getPiece(startPosition);
+        if (piece == null) {
+            return null;
+        }
+        MoveList moves = status.legalMoves(this, piece.getTeamColor());
+        int square = startPosition.getSquare();
+        Collection<ChessMove> pieceMoves = new ArrayList<>();
+        for (int i = 0; i < moves.size(); i++) {
+            if (Move.from(moves.get(i)) == square) {
+                pieceMoves.add(Move.toChessMove(moves.get(i)));
+            }
+        }
+        return pieceMoves;
+    }
+
+    /**
+     * Gets every valid move for a team
+     *
+     * @param teamColor the team to get valid moves for
+     * @return the valid moves of all the team's pieces
+     */
+    public Collection<ChessMove> validMoves(TeamColor teamColor) {
+        MoveList moves = status.legalMoves(this, teamColor);
+        return moves.toChessMoves(new ArrayList<>(moves.size()));
     }
 
     /**
@@ -56,7 +162,130 @@ public class ChessGame {
      * @throws InvalidMoveException if move is invalid
      */
     public void makeMove(ChessMove move) throws InvalidMoveException {
-        throw new RuntimeException("Not implemented");
+        ChessPiece piece = board.getPiece(move.getStartPosition());
+        if (piece == null) {
+            throw new InvalidMoveException("There is no piece at the start position");
+        }
+        if (piece.getTeamColor() != teamTurn) {
+            throw new InvalidMoveException("It is not " + piece.getTeamColor() + "'s turn");
+        }
+        if (!status.legalMoves(this, teamTurn).contains(Move.of(move))) {
+            throw new InvalidMoveException("That piece cannot move there");
+        }
+
+        doMove(move);
+        status.invalidate();
+    }
+
+    /**
+     * Plays a move in place without checking that it is valid, recording what
+     * is needed to take it back with {@link #undoMove()}. The turn passes to
+     * the opponent of the moving piece.
+     *
+     * @param move a move of a piece on the board, at least pseudo-legal
+     */
+    public void doMove(ChessMove move) {
+        doMove(Move.of(move));
+    }
+
+    /**
+     * Takes back the last move made with {@link #makeMove} or {@link #doMove},
+     * restoring the board, turn, castling rights and en passant square
+     *
+     * @throws IllegalStateException if there is no move to take back
+     */
+    public void undoMove() {
+        if (undoCount == 0) {
+            throw new IllegalStateException("There is no move to undo");
+        }
+        undoCount--;
+        int state = undoStates[undoCount];
+        int from = state & 63;
+        int to = (state >>> 6) & 63;
+        int capturedSquare = (state >>> 12) & 63;
+        ChessPiece moved = undoMoved[undoCount];
+        ChessPiece captured = undoCaptured[undoCount];
+
+        board.removePiece(to);
+        if (moved.getPieceType() == ChessPiece.PieceType.KING && Math.abs(to - from) == 2) {
+            int rookFrom = to > from ? to + 1 : to - 2;
+            int rookTo = to > from ? to - 1 : to + 1;
+            board.putPiece(rookFrom, board.removePiece(rookTo));
+        }
+        board.putPiece(from, moved);
+        if (captured != null) {
+            board.putPiece(capturedSquare, captured);
+        }
+
+        teamTurn = ((state >>> 29) & 1) == 0 ? TeamColor.WHITE : TeamColor.BLACK;
+        castlingRights = (state >>> 18) & 15;
+        enPassantSquare = ((state >>> 22) & 127) - 1;
+        stateKey = undoKeys[undoCount];
+        halfmoveClock = undoClocks[undoCount];
+        if (moved.getTeamColor() == TeamColor.BLACK) {
+            fullmoveNumber--;
+        }
+        if (historyCount > 0) {
+            historyCount--;
+        }
+        undoMoved[undoCount] = null;
+        undoCaptured[undoCount] = null;
+    }
+
+    /**
+     * Plays a packed move (see {@link Move}) in place without checking that it
+     * is valid, as {@link #doMove(ChessMove)} does
+     *
+     * @param move a packed move of a piece on the board, at least pseudo-legal
+     */
+    public void doMove(int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece.PieceType promotion = Move.promotion(move);
+        if (undoCount == undoStates.length) {
+            undoKeys = Arrays.copyOf(undoKeys, undoCount * 2);
+            undoStates = Arrays.copyOf(undoStates, undoCount * 2);
+            undoClocks = Arrays.copyOf(undoClocks, undoCount * 2);
+            undoMoved = Arrays.copyOf(undoMoved, undoCount * 2);
+            undoCaptured = Arrays.copyOf(undoCaptured, undoCount * 2);
+        }
+        addHistoryKey(getPositionKey());
+        ChessPiece piece = board.removePiece(from);
+        TeamColor color = piece.getTeamColor();
+        ChessPiece captured = board.removePiece(to);
+        int capturedSquare = to;
+        if (piece.getPieceType() == ChessPiece.PieceType.PAWN && to == enPassantSquare) {
+            capturedSquare = color == TeamColor.WHITE ? to - 8 : to + 8;
+            captured = board.removePiece(capturedSquare);
+        } else if (piece.getPieceType() == ChessPiece.PieceType.KING && Math.abs(to - from) == 2) {
+            int rookFrom = to > from ? to + 1 : to - 2;
+            int rookTo = to > from ? to - 1 : to + 1;
+            board.putPiece(rookTo, board.removePiece(rookFrom));
+        }
+        board.putPiece(to, promotion == null ? piece : ChessPiece.of(color, promotion));
+
+        undoKeys[undoCount] = stateKey;
+        undoClocks[undoCount] = halfmoveClock;
+        undoStates[undoCount] = from | to << 6 | capturedSquare << 12 | castlingRights << 18
+                | (enPassantSquare + 1) << 22 | teamTurn.ordinal() << 29;
+        undoMoved[undoCount] = piece;
+        undoCaptured[undoCount] = captured;
+        undoCount++;
+        halfmoveClock = piece.getPieceType() == ChessPiece.PieceType.PAWN || captured != null ? 0 : halfmoveClock + 1;
+        if (color == TeamColor.BLACK) {
+            fullmoveNumber++;
+        }
+
+        int newEnPassantSquare = -1;
+        if (piece.getPieceType() == ChessPiece.PieceType.PAWN && Math.abs(to - from) == 16) {
+            int passedSquare = (from + to) / 2;
+            long enemyPawns = board.getPieces(color.opponent(), ChessPiece.PieceType.PAWN);
+            if ((Bitboards.pawnAttacks(color, passedSquare) & enemyPawns) != 0) {
+                newEnPassantSquare = passedSquare;
+            }
+        }
+        setState(color.opponent(), castlingRights & CASTLING_MASKS[from] & CASTLING_MASKS[to],
+                newEnPassantSquare);
     }
 
     /**
@@ -66,7 +295,7 @@ public class ChessGame {
      * @return True if the specified team is in check
      */
     public boolean isInCheck(TeamColor teamColor) {
-        throw new RuntimeException("Not implemented");
+        return status.isInCheck(this, teamColor);
     }
 
     /**
@@ -76,7 +305,7 @@ public class ChessGame {
      * @return True if the specified team is in checkmate
      */
     public boolean isInCheckmate(TeamColor teamColor) {
-        throw new RuntimeException("Not implemented");
+        return isInCheck(teamColor) && !hasAnyLegalMove(teamColor);
     }
 
     /**
@@ -87,16 +316,120 @@ public class ChessGame {
      * @return True if the specified team is in stalemate, otherwise false
      */
     public boolean isInStalemate(TeamColor teamColor) {
-        throw new RuntimeException("Not implemented");
+        return !isInCheck(teamColor) && !hasAnyLegalMove(teamColor);
+    }
+
+    /**
+     * Determines if the given team has any valid move, without listing them
+     * all the way {@link #validMoves(TeamColor)} does
+     *
+     * @param teamColor which team to look for a move for
+     * @return True if the specified team has at least one valid move
+     */
+    public boolean hasAnyLegalMove(TeamColor teamColor) {
+        return status.hasLegalMove(this, teamColor);
+    }
+
+    /**
+     * Determines if the current position has occurred three times with the
+     * same team to move. Only positions since the last capture or pawn move
+     * are looked at, since none before it can occur again.
+     *
+     * @return True if the game is drawn by threefold repetition
+     */
+    public boolean isThreefoldRepetition() {
+        return countRepetitions() >= 2;
+    }
+
+    /**
+     * Determines if fifty moves by each team have passed without a capture or
+     * pawn move, unless the last of them gave checkmate
+     *
+     * @return True if the game is drawn by the fifty-move rule
+     */
+    public boolean isFiftyMoveDraw() {
+        return halfmoveClock >= 100 && !isInCheckmate(teamTurn);
+    }
+
+    /**
+     * Determines if neither team has enough pieces left to give checkmate,
+     * see {@link ChessBoard#hasInsufficientMaterial()}
+     *
+     * @return True if the game is drawn by insufficient material
+     */
+    public boolean isInsufficientMaterial() {
+        return board.hasInsufficientMaterial();
+    }
+
+    /**
+     * Determines if the game has ended in a draw by insufficient material,
+     * threefold repetition or the fifty-move rule. Stalemate is reported by
+     * {@link #isInStalemate}.
+     *
+     * @return True if the game is drawn
+     */
+    public boolean isDraw() {
+        return isInsufficientMaterial() || isThreefoldRepetition() || isFiftyMoveDraw();
+    }
+
+    /**
+     * @return how many moves have been made since the last capture or pawn
+     * move, counting each team's move separately
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    /**
+     * @return the number of the current full move, starting at 1 and going up
+     * after each move by black
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
     }
 
     /**
      * Sets this game's chessboard with a given board
+     * <p>
+     * Castling is allowed for every king and rook still on their starting
+     * squares, and no en passant capture is available.
      *
      * @param board the new board to use
      */
     public void setBoard(ChessBoard board) {
-        throw new RuntimeException("Not implemented");
+        this.board = board;
+        Arrays.fill(undoMoved, 0, undoCount, null);
+        Arrays.fill(undoCaptured, 0, undoCount, null);
+        undoCount = 0;
+        historyCount = 0;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+        setState(teamTurn, inferCastlingRights(board), -1);
+        status.invalidate();
+    }
+
+    /**
+     * Sets up a position in full, as read from FEN (see {@link Fen}). Castling
+     * rights whose king or rook is not on its starting square are dropped, as
+     * is an en passant square no pawn of the team to move can capture on.
+     *
+     * @throws IllegalArgumentException if the en passant square is not one an
+     *                                  enemy pawn could just have passed over,
+     *                                  see {@link #isEnPassantPossible}
+     */
+    void setPosition(ChessBoard board, TeamColor team, int rights, int enPassant, int halfmoveClock,
+                     int fullmoveNumber) {
+        if (enPassant != -1 && !isEnPassantPossible(board, team, enPassant)) {
+            throw new IllegalArgumentException("No pawn can have just passed over en passant square " + enPassant);
+        }
+        setBoard(board);
+        if (enPassant >= 0 && (Bitboards.pawnAttacks(team.opponent(), enPassant)
+                & board.getPieces(team, ChessPiece.PieceType.PAWN)) == 0) {
+            enPassant = -1;
+        }
+        setState(team, rights & inferCastlingRights(board), enPassant);
+        this.halfmoveClock = halfmoveClock;
+        this.fullmoveNumber = fullmoveNumber;
     }
 
     /**
@@ -105,6 +438,143 @@ public class ChessGame {
      * @return the chessboard
      */
     public ChessBoard getBoard() {
-        throw new RuntimeException("Not implemented");
+        return board;
+    }
+
+    /**
+     * Gets a 64-bit Zobrist key for the current position, covering the pieces,
+     * the side to move, the castling rights and the en passant file
+     *
+     * @return the position key
+     */
+    public long getPositionKey() {
+        return board.getZobristKey() ^ stateKey;
+    }
+
+    int getCastlingRights() {
+        return castlingRights;
+    }
+
+    /**
+     * @return the square a pawn may capture onto en passant, see
+     * {@link Bitboards}, or -1 if there is none
+     */
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    /**
+     * @return how many recorded positions could still repeat, being since the
+     * last capture or pawn move
+     */
+    int getReversibleHistoryLength() {
+        return Math.min(historyCount, halfmoveClock);
+    }
+
+    /**
+     * @param pliesAgo how many moves back to look, from 1 for the position
+     *                 before the last move
+     * @return the key of that position
+     */
+    long getHistoryKey(int pliesAgo) {
+        return keyHistory[historyCount - pliesAgo];
+    }
+
+    /**
+     * Records the key of a position played before the current one, oldest
+     * first, e.g. when restoring a saved game
+     */
+    void addHistoryKey(long key) {
+        if (historyCount == keyHistory.length) {
+            keyHistory = Arrays.copyOf(keyHistory, historyCount * 2);
+        }
+        keyHistory[historyCount++] = key;
+    }
+
+    /**
+     * @return how many earlier positions since the last capture or pawn move
+     * match the current one, so a search can score a repeat as a draw
+     */
+    public int countRepetitions() {
+        long key = getPositionKey();
+        int stop = Math.max(historyCount - halfmoveClock, 0);
+        int count = 0;
+        for (int i = historyCount - 2; i >= stop; i -= 2) {
+            if (keyHistory[i] == key) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void setState(TeamColor team, int rights, int enPassant) {
+        stateKey ^= Zobrist.sideToMove(teamTurn) ^ Zobrist.sideToMove(team);
+        stateKey ^= Zobrist.castling(castlingRights) ^ Zobrist.castling(rights);
+        stateKey ^= Zobrist.enPassant(enPassantSquare) ^ Zobrist.enPassant(enPassant);
+        teamTurn = team;
+        castlingRights = rights;
+        enPassantSquare = enPassant;
+    }
+
+    private static int inferCastlingRights(ChessBoard board) {
+        int rights = 0;
+        if (hasPiece(board, 1, 5, TeamColor.WHITE, ChessPiece.PieceType.KING)) {
+            if (hasPiece(board, 1, 8, TeamColor.WHITE, ChessPiece.PieceType.ROOK)) {
+                rights |= WHITE_KINGSIDE;
+            }
+            if (hasPiece(board, 1, 1, TeamColor.WHITE, ChessPiece.PieceType.ROOK)) {
+                rights |= WHITE_QUEENSIDE;
+            }
+        }
+        if (hasPiece(board, 8, 5, TeamColor.BLACK, ChessPiece.PieceType.KING)) {
+            if (hasPiece(board, 8, 8, TeamColor.BLACK, ChessPiece.PieceType.ROOK)) {
+                rights |= BLACK_KINGSIDE;
+            }
+            if (hasPiece(board, 8, 1, TeamColor.BLACK, ChessPiece.PieceType.ROOK)) {
+                rights |= BLACK_QUEENSIDE;
+            }
+        }
+        return rights;
+    }
+
+    /**
+     * Checks that a square could be the en passant square: it is empty, on the
+     * row an enemy pawn passes over with a double step, and that pawn is
+     * directly behind it
+     *
+     * @param board the position
+     * @param team  the team to move
+     * @param square the candidate en passant square
+     * @return true if an enemy pawn can just have double-stepped over the square
+     */
+    static boolean isEnPassantPossible(ChessBoard board, TeamColor team, int square) {
+        if (square < 0 || square > 63) {
+            return false;
+        }
+        int row = team == TeamColor.WHITE ? 6 : 3;
+        int pawnSquare = team == TeamColor.WHITE ? square - 8 : square + 8;
+        return Bitboards.row(square) == row
+                && (board.getOccupied() & Bitboards.bit(square)) == 0
+                && (board.getPieces(team.opponent(), ChessPiece.PieceType.PAWN) & Bitboards.bit(pawnSquare)) != 0;
+    }
+
+    private static boolean hasPiece(ChessBoard board, int row, int column, TeamColor color,
+                                    ChessPiece.PieceType type) {
+        return (board.getPieces(color, type) & Bitboards.bit(Bitboards.square(row, column))) != 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ChessGame that = (ChessGame) o;
+        return teamTurn == that.teamTurn && castlingRights == that.castlingRights
+                && enPassantSquare == that.enPassantSquare && board.equals(that.board);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(getPositionKey());
     }
 }
@@ -0,0 +1,217 @@
+package chess;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Compact JSON forms of the chess classes, written and read with streaming
+ * Gson type adapters instead of reflection:
+ * <ul>
+ *     <li>a position is its square name, e.g. {@code "e2"}</li>
+ *     <li>a move is its start and end squares plus any promotion letter, e.g.
+ *     {@code "e7e8q"}</li>
+ *     <li>a piece is its FEN letter, upper case for white, e.g. {@code "N"}</li>
+ *     <li>a board is the piece placement field of FEN, see {@link Fen}</li>
+ *     <li>a game is an object holding its FEN and, if any, the keys of the
+ *     earlier positions a repetition could match</li>
+ * </ul>
+ * The server, the client and the tests should all get their {@link Gson}
+ * from here so they agree on the format.
+ */
+public final class ChessJson {
+
+    private static final Gson GSON = builder().create();
+
+    private ChessJson() {
+
+    }
+
+    /**
+     * @return a shared Gson with the chess type adapters registered, which is
+     * safe to use from any thread
+     */
+    public static Gson gson() {
+        return GSON;
+    }
+
+    /**
+     * @return a new builder with the chess type adapters registered, for
+     * callers that need to add their own
+     */
+    public static GsonBuilder builder() {
+        return new GsonBuilder()
+                .registerTypeAdapter(ChessPosition.class, new PositionAdapter().nullSafe())
+                .registerTypeAdapter(ChessMove.class, new MoveAdapter().nullSafe())
+                .registerTypeAdapter(ChessPiece.class, new PieceAdapter().nullSafe())
+                .registerTypeAdapter(ChessBoard.class, new BoardAdapter().nullSafe())
+                .registerTypeAdapter(ChessGame.class, new GameAdapter().nullSafe());
+    }
+
+    private static final class PositionAdapter extends TypeAdapter<ChessPosition> {
+
+        @Override
+        public void write(JsonWriter out, ChessPosition position) throws IOException {
+            out.value(position.toString());
+        }
+
+        @Override
+        public ChessPosition read(JsonReader in) throws IOException {
+            String text = in.nextString();
+            if (text.length() != 2) {
+                throw new JsonParseException("Bad position \"" + text + "\"");
+            }
+            return parsePosition(text, 0);
+        }
+    }
+
+    private static final class MoveAdapter extends TypeAdapter<ChessMove> {
+
+        @Override
+        public void write(JsonWriter out, ChessMove move) throws IOException {
+            out.value(move.toString());
+        }
+
+        @Override
+        public ChessMove read(JsonReader in) throws IOException {
+            String text = in.nextString();
+            if (text.length() != 4 && text.length() != 5) {
+                throw new JsonParseException("Bad move \"" + text + "\"");
+            }
+            ChessPiece.PieceType promotion = null;
+            if (text.length() == 5) {
+                promotion = pieceType(text.charAt(4));
+            }
+            return new ChessMove(parsePosition(text, 0), parsePosition(text, 2), promotion);
+        }
+    }
+
+    private static final class PieceAdapter extends TypeAdapter<ChessPiece> {
+
+        @Override
+        public void write(JsonWriter out, ChessPiece piece) throws IOException {
+            char letter = switch (piece.getPieceType()) {
+                case KING -> 'k';
+                case QUEEN -> 'q';
+                case BISHOP -> 'b';
+                case KNIGHT -> 'n';
+                case ROOK -> 'r';
+                case PAWN -> 'p';
+            };
+            out.value(String.valueOf(piece.getTeamColor() == ChessGame.TeamColor.WHITE
+                    ? Character.toUpperCase(letter) : letter));
+        }
+
+        @Override
+        public ChessPiece read(JsonReader in) throws IOException {
+            String text = in.nextString();
+            if (text.length() != 1) {
+                throw new JsonParseException("Bad piece \"" + text + "\"");
+            }
+            char letter = text.charAt(0);
+            ChessGame.TeamColor color = Character.isUpperCase(letter) ? ChessGame.TeamColor.WHITE
+                    : ChessGame.TeamColor.BLACK;
+            return ChessPiece.of(color, pieceType(letter));
+        }
+    }
+
+    private static final class BoardAdapter extends TypeAdapter<ChessBoard> {
+
+        @Override
+        public void write(JsonWriter out, ChessBoard board) throws IOException {
+            out.value(Fen.formatBoard(board));
+        }
+
+        @Override
+        public ChessBoard read(JsonReader in) throws IOException {
+            try {
+                return Fen.parseBoard(in.nextString());
+            } catch (IllegalArgumentException e) {
+                throw new JsonParseException(e.getMessage(), e);
+            }
+        }
+    }
+
+    private static final class GameAdapter extends TypeAdapter<ChessGame> {
+
+        @Override
+        public void write(JsonWriter out, ChessGame game) throws IOException {
+            out.beginObject();
+            out.name("fen").value(Fen.format(game));
+            int history = game.getReversibleHistoryLength();
+            if (history > 0) {
+                out.name("history").beginArray();
+                for (int pliesAgo = history; pliesAgo >= 1; pliesAgo--) {
+                    out.value(game.getHistoryKey(pliesAgo));
+                }
+                out.endArray();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public ChessGame read(JsonReader in) throws IOException {
+            ChessGame game = null;
+            long[] history = new long[0];
+            int historyCount = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "fen" -> {
+                        try {
+                            game = Fen.parse(in.nextString());
+                        } catch (IllegalArgumentException e) {
+                            throw new JsonParseException(e.getMessage(), e);
+                        }
+                    }
+                    case "history" -> {
+                        in.beginArray();
+                        while (in.hasNext()) {
+                            if (historyCount == history.length) {
+                                history = Arrays.copyOf(history, Math.max(historyCount * 2, 8));
+                            }
+                            history[historyCount++] = in.nextLong();
+                        }
+                        in.endArray();
+                    }
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            if (game == null) {
+                throw new JsonParseException("Game has no \"fen\"");
+            }
+            for (int i = 0; i < historyCount; i++) {
+                game.addHistoryKey(history[i]);
+            }
+            return game;
+        }
+    }
+
+    private static ChessPosition parsePosition(String text, int index) {
+        char file = text.charAt(index);
+        char rank = text.charAt(index + 1);
+        if (file < 'a' || file > 'h' || rank < '1' || rank > '8') {
+            throw new JsonParseException("Bad square in \"" + text + "\"");
+        }
+        return ChessPosition.of(rank - '0', file - 'a' + 1);
+    }
+
+    private static ChessPiece.PieceType pieceType(char letter) {
+        return switch (Character.toLowerCase(letter)) {
+            case 'k' -> ChessPiece.PieceType.KING;
+            case 'q' -> ChessPiece.PieceType.QUEEN;
+            case 'b' -> ChessPiece.PieceType.BISHOP;
+            case 'n' -> ChessPiece.PieceType.KNIGHT;
+            case 'r' -> ChessPiece.PieceType.ROOK;
+            case 'p' -> ChessPiece.PieceType.PAWN;
+            default -> throw new JsonParseException("Bad piece letter '" + letter + "'");
+        };
+    }
+}
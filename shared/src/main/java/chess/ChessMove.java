@@ -58,4 +58,24 @@ public class ChessMove {
     public int hashCode() {
         return Objects.hash(startPosition, endPosition, promotionPiece);
     }
+
+    /**
+     * @return the move as start and end positions followed by the promotion
+     * piece if there is one, e.g. "e2e4" or "b7b8q"
+     */
+    @Override
+    public String toString() {
+        String move = startPosition.toString() + endPosition;
+        if (promotionPiece == null) {
+            return move;
+        }
+        return move + switch (promotionPiece) {
+            case QUEEN -> "q";
+            case ROOK -> "r";
+            case BISHOP -> "b";
+            case KNIGHT -> "n";
+            case KING -> "k";
+            case PAWN -> "p";
+        };
+    }
 }
@@ -1,15 +1,24 @@
 package chess;
 
-import java.util.Objects;
-
 /**
  * Represents a single square position on a chess board
  * <p>
+ * Positions are immutable, so {@link #of(int, int)} hands out one shared
+ * instance per square instead of allocating a new one each time.
+ * <p>
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
 public class ChessPosition {
 
+    private static final ChessPosition[] POSITIONS = new ChessPosition[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            POSITIONS[square] = new ChessPosition(Bitboards.row(square), Bitboards.column(square));
+        }
+    }
+
     private final int row;
     private final int col;
 
@@ -18,6 +27,27 @@ public class ChessPosition {
         this.col = col;
     }
 
+    /**
+     * Gets the shared instance for a position, or a new one if the position is
+     * off the board
+     *
+     * @return the position at the given row and column
+     */
+    public static ChessPosition of(int row, int col) {
+        if (row < 1 || row > 8 || col < 1 || col > 8) {
+            return new ChessPosition(row, col);
+        }
+        return POSITIONS[Bitboards.square(row, col)];
+    }
+
+    /**
+     * @param square a square index from 0 to 63, see {@link Bitboards}
+     * @return the shared instance for that square
+     */
+    public static ChessPosition of(int square) {
+        return POSITIONS[square];
+    }
+
     /**
      * @return which row this position is in
      * 1 codes for the bottom row
@@ -34,8 +64,18 @@ public class ChessPosition {
         return col;
     }
 
+    /**
+     * @return the square index of this position, see {@link Bitboards}
+     */
+    public int getSquare() {
+        return Bitboards.square(row, col);
+    }
+
     @Override
     public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
         if (o == null || getClass() != o.getClass()) {
             return false;
         }
@@ -45,6 +85,14 @@ public class ChessPosition {
 
     @Override
     public int hashCode() {
-        return Objects.hash(row, col);
+        return 31 * row + col;
+    }
+
+    /**
+     * @return the position in algebraic notation, e.g. "e2" for row 2, column 5
+     */
+    @Override
+    public String toString() {
+        return String.valueOf((char) ('a' + col - 1)) + row;
     }
 }
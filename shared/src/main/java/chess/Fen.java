@@ -0,0 +1,285 @@
+package chess;
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation, e.g.
+ * {@code rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1}: the
+ * pieces row by row from row 8 down, the team to move, the castling rights,
+ * the en passant square and the halfmove clock and fullmove number.
+ * <p>
+ * Reading walks the text once, character by character, without splitting it
+ * or creating substrings. The two move counters may be left off, in which
+ * case they start at 0 and 1.
+ */
+public final class Fen {
+
+    /**
+     * The standard starting position
+     */
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private Fen() {
+
+    }
+
+    /**
+     * @param fen a full FEN record
+     * @return a new game set up at the position
+     * @throws IllegalArgumentException if the text is not valid FEN
+     */
+    public static ChessGame parse(CharSequence fen) {
+        Reader reader = new Reader(fen);
+        ChessBoard board = reader.board();
+        reader.space();
+        ChessGame.TeamColor team = switch (reader.next()) {
+            case 'w' -> ChessGame.TeamColor.WHITE;
+            case 'b' -> ChessGame.TeamColor.BLACK;
+            default -> throw reader.error("expected w or b");
+        };
+        reader.space();
+        int rights = reader.castling();
+        reader.space();
+        int enPassant = reader.square();
+        int halfmoveClock = 0;
+        int fullmoveNumber = 1;
+        if (reader.hasMore()) {
+            reader.space();
+            halfmoveClock = reader.number();
+            reader.space();
+            fullmoveNumber = reader.number();
+        }
+        reader.end();
+
+        ChessGame game = new ChessGame();
+        game.setPosition(board, team, rights, enPassant, halfmoveClock, fullmoveNumber);
+        return game;
+    }
+
+    /**
+     * @param placement the piece placement field of a FEN record, or a whole
+     *                  record, in which case the other fields are ignored
+     * @return a new board holding the pieces
+     * @throws IllegalArgumentException if the text is not a valid placement
+     */
+    public static ChessBoard parseBoard(CharSequence placement) {
+        return new Reader(placement).board();
+    }
+
+    /**
+     * @return the full FEN record of the game's current position
+     */
+    public static String format(ChessGame game) {
+        StringBuilder fen = new StringBuilder(90);
+        appendBoard(game.getBoard(), fen);
+        fen.append(game.getTeamTurn() == ChessGame.TeamColor.WHITE ? " w " : " b ");
+        int rights = game.getCastlingRights();
+        if (rights == 0) {
+            fen.append('-');
+        }
+        if ((rights & ChessGame.WHITE_KINGSIDE) != 0) {
+            fen.append('K');
+        }
+        if ((rights & ChessGame.WHITE_QUEENSIDE) != 0) {
+            fen.append('Q');
+        }
+        if ((rights & ChessGame.BLACK_KINGSIDE) != 0) {
+            fen.append('k');
+        }
+        if ((rights & ChessGame.BLACK_QUEENSIDE) != 0) {
+            fen.append('q');
+        }
+        fen.append(' ');
+        int enPassant = game.getEnPassantSquare();
+        if (enPassant < 0) {
+            fen.append('-');
+        } else {
+            fen.append((char) ('a' + Bitboards.column(enPassant) - 1)).append(Bitboards.row(enPassant));
+        }
+        return fen.append(' ').append(game.getHalfmoveClock()).append(' ').append(game.getFullmoveNumber())
+                .toString();
+    }
+
+    /**
+     * @return the piece placement field of FEN for the board
+     */
+    public static String formatBoard(ChessBoard board) {
+        StringBuilder fen = new StringBuilder(72);
+        appendBoard(board, fen);
+        return fen.toString();
+    }
+
+    private static void appendBoard(ChessBoard board, StringBuilder fen) {
+        for (int row = 8; row >= 1; row--) {
+            int empty = 0;
+            for (int column = 1; column <= 8; column++) {
+                ChessPiece piece = board.getPiece(Bitboards.square(row, column));
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                char letter = switch (piece.getPieceType()) {
+                    case KING -> 'k';
+                    case QUEEN -> 'q';
+                    case BISHOP -> 'b';
+                    case KNIGHT -> 'n';
+                    case ROOK -> 'r';
+                    case PAWN -> 'p';
+                };
+                fen.append(piece.getTeamColor() == ChessGame.TeamColor.WHITE ? Character.toUpperCase(letter) : letter);
+            }
+            if (empty > 0) {
+                fen.append((char) ('0' + empty));
+            }
+            if (row > 1) {
+                fen.append('/');
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final CharSequence text;
+        private int index;
+
+        Reader(CharSequence text) {
+            this.text = text;
+        }
+
+        ChessBoard board() {
+            ChessBoard board = new ChessBoard();
+            int row = 8;
+            int column = 1;
+            while (true) {
+                char c = next();
+                if (c >= '1' && c <= '8') {
+                    column += c - '0';
+                } else if (c == '/') {
+                    if (column != 9 || row == 1) {
+                        throw error("row " + row + " does not have 8 squares");
+                    }
+                    row--;
+                    column = 1;
+                    continue;
+                } else {
+                    ChessPiece.PieceType type = switch (Character.toLowerCase(c)) {
+                        case 'k' -> ChessPiece.PieceType.KING;
+                        case 'q' -> ChessPiece.PieceType.QUEEN;
+                        case 'b' -> ChessPiece.PieceType.BISHOP;
+                        case 'n' -> ChessPiece.PieceType.KNIGHT;
+                        case 'r' -> ChessPiece.PieceType.ROOK;
+                        case 'p' -> ChessPiece.PieceType.PAWN;
+                        default -> throw error("unexpected '" + c + "'");
+                    };
+                    if (column > 8) {
+                        throw error("row " + row + " has more than 8 squares");
+                    }
+                    ChessGame.TeamColor color = Character.isUpperCase(c) ? ChessGame.TeamColor.WHITE
+                            : ChessGame.TeamColor.BLACK;
+                    board.putPiece(Bitboards.square(row, column), ChessPiece.of(color, type));
+                    column++;
+                }
+                if (column > 9) {
+                    throw error("row " + row + " has more than 8 squares");
+                }
+                if (row == 1 && column == 9) {
+                    return board;
+                }
+            }
+        }
+
+        int castling() {
+            if (peek() == '-') {
+                index++;
+                return 0;
+            }
+            int rights = 0;
+            while (hasMore() && peek() != ' ') {
+                rights |= switch (next()) {
+                    case 'K' -> ChessGame.WHITE_KINGSIDE;
+                    case 'Q' -> ChessGame.WHITE_QUEENSIDE;
+                    case 'k' -> ChessGame.BLACK_KINGSIDE;
+                    case 'q' -> ChessGame.BLACK_QUEENSIDE;
+                    default -> throw error("expected castling rights");
+                };
+            }
+            if (rights == 0) {
+                throw error("expected castling rights");
+            }
+            return rights;
+        }
+
+        int square() {
+            char file = next();
+            if (file == '-') {
+                return -1;
+            }
+            char rank = next();
+            if (file < 'a' || file > 'h' || rank < '1' || rank > '8') {
+                throw error("expected a square");
+            }
+            return Bitboards.square(rank - '0', file - 'a' + 1);
+        }
+
+        int number() {
+            int start = index;
+            int value = 0;
+            while (hasMore() && peek() >= '0' && peek() <= '9') {
+                value = value * 10 + (next() - '0');
+                if (value > 1_000_000) {
+                    throw error("number too large");
+                }
+            }
+            if (index == start) {
+                throw error("expected a number");
+            }
+            return value;
+        }
+
+        void space() {
+            if (next() != ' ') {
+                throw error("expected a space");
+            }
+            while (hasMore() && peek() == ' ') {
+                index++;
+            }
+        }
+
+        void end() {
+            while (hasMore() && Character.isWhitespace(peek())) {
+                index++;
+            }
+            if (hasMore()) {
+                throw error("unexpected text after the record");
+            }
+        }
+
+        boolean hasMore() {
+            int i = index;
+            while (i < text.length() && text.charAt(i) == ' ') {
+                i++;
+            }
+            return i < text.length() && !Character.isWhitespace(text.charAt(i));
+        }
+
+        char next() {
+            if (index >= text.length()) {
+                throw error("unexpected end of text");
+            }
+            return text.charAt(index++);
+        }
+
+        char peek() {
+            if (index >= text.length()) {
+                throw error("unexpected end of text");
+            }
+            return text.charAt(index);
+        }
+
+        IllegalArgumentException error(String problem) {
+            return new IllegalArgumentException("Bad FEN at index " + index + ": " + problem);
+        }
+    }
+}
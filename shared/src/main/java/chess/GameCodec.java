@@ -0,0 +1,148 @@
+package chess;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A compact, versioned binary form of a {@link ChessGame}, for storing games
+ * and sending them over the wire. Version 1 is laid out as:
+ * <ul>
+ *     <li>1 byte: the format version</li>
+ *     <li>32 bytes: one 4-bit code per square from square 0 to 63, low nibble
+ *     first, where 0 is empty and 1 to 12 are {@link Bitboards#pieceIndex} + 1</li>
+ *     <li>1 byte: the team to move in bit 0 and the castling rights in bits 1 to 4</li>
+ *     <li>1 byte: the en passant square, or -1 for none</li>
+ *     <li>2 bytes each: the halfmove clock and the fullmove number</li>
+ *     <li>1 byte: how many earlier position keys follow, then 8 bytes for each,
+ *     oldest first. Only positions since the last capture or pawn move are
+ *     kept, as those are all a repetition can match.</li>
+ * </ul>
+ * A game in progress encodes to 40 bytes plus its repetition history. The
+ * codec reads and writes the buffer directly, with no objects in between.
+ */
+public final class GameCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int FIXED_SIZE = 40;
+    private static final int MAX_HISTORY = 255;
+
+    private GameCodec() {
+
+    }
+
+    /**
+     * @return how many bytes {@link #encode(ChessGame, ByteBuffer)} writes for the game
+     */
+    public static int encodedSize(ChessGame game) {
+        return FIXED_SIZE + 8 * historyLength(game);
+    }
+
+    /**
+     * @return the game encoded into a new array
+     */
+    public static byte[] encode(ChessGame game) {
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize(game));
+        encode(game, buffer);
+        return buffer.array();
+    }
+
+    /**
+     * Writes the game at the buffer's position, advancing it
+     *
+     * @throws java.nio.BufferOverflowException if the buffer has too little room
+     */
+    public static void encode(ChessGame game, ByteBuffer buffer) {
+        buffer.put(VERSION);
+        encodeBoard(game.getBoard(), buffer);
+        buffer.put((byte) (game.getTeamTurn().ordinal() | game.getCastlingRights() << 1));
+        buffer.put((byte) game.getEnPassantSquare());
+        buffer.putShort((short) Math.min(game.getHalfmoveClock(), 0xFFFF));
+        buffer.putShort((short) Math.min(game.getFullmoveNumber(), 0xFFFF));
+        int history = historyLength(game);
+        buffer.put((byte) history);
+        for (int pliesAgo = history; pliesAgo >= 1; pliesAgo--) {
+            buffer.putLong(game.getHistoryKey(pliesAgo));
+        }
+    }
+
+    /**
+     * Reads a game from the buffer's position, advancing it
+     *
+     * @return a new game
+     * @throws IllegalArgumentException if the data is not an encoded game
+     * @throws java.nio.BufferUnderflowException if the data is cut short
+     */
+    public static ChessGame decode(ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unknown game format version " + version);
+        }
+        ChessBoard board = decodeBoard(buffer);
+        int state = buffer.get();
+        int enPassant = buffer.get();
+        int halfmoveClock = buffer.getShort() & 0xFFFF;
+        int fullmoveNumber = buffer.getShort() & 0xFFFF;
+        ChessGame.TeamColor team = (state & 1) == 0 ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+        boolean badEnPassant = enPassant != -1 && !ChessGame.isEnPassantPossible(board, team, enPassant);
+        if ((state & ~31) != 0 || badEnPassant) {
+            throw new IllegalArgumentException("Bad game state " + state + ", en passant " + enPassant);
+        }
+        ChessGame game = new ChessGame();
+        game.setPosition(board, team, state >>> 1, enPassant, halfmoveClock, fullmoveNumber);
+        int history = buffer.get() & 0xFF;
+        for (int i = 0; i < history; i++) {
+            game.addHistoryKey(buffer.getLong());
+        }
+        return game;
+    }
+
+    /**
+     * @return a game decoded from an array made by {@link #encode(ChessGame)}
+     */
+    public static ChessGame decode(byte[] data) {
+        return decode(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Writes the 32 bytes of square codes for a board at the buffer's position
+     */
+    public static void encodeBoard(ChessBoard board, ByteBuffer buffer) {
+        for (int square = 0; square < 64; square += 2) {
+            buffer.put((byte) (code(board.getPiece(square)) | code(board.getPiece(square + 1)) << 4));
+        }
+    }
+
+    /**
+     * Reads 32 bytes of square codes from the buffer's position
+     *
+     * @return a new board
+     * @throws IllegalArgumentException if a code is not a piece
+     */
+    public static ChessBoard decodeBoard(ByteBuffer buffer) {
+        ChessBoard board = new ChessBoard();
+        for (int square = 0; square < 64; square += 2) {
+            int codes = buffer.get();
+            putPiece(board, square, codes & 15);
+            putPiece(board, square + 1, (codes >>> 4) & 15);
+        }
+        return board;
+    }
+
+    private static int historyLength(ChessGame game) {
+        return Math.min(game.getReversibleHistoryLength(), MAX_HISTORY);
+    }
+
+    private static int code(ChessPiece piece) {
+        return piece == null ? 0 : Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType()) + 1;
+    }
+
+    private static void putPiece(ChessBoard board, int square, int code) {
+        if (code == 0) {
+            return;
+        }
+        if (code > 12) {
+            throw new IllegalArgumentException("Bad piece code " + code + " on square " + square);
+        }
+        board.putPiece(square, ChessPiece.of(code - 1));
+    }
+}
@@ -0,0 +1,105 @@
+package chess;
+
+/**
+ * Remembers what has been worked out about one position of a {@link ChessGame}:
+ * whether each team is in check, whether it has a legal move, and its legal
+ * moves. Each answer is computed the first time it is asked for, so repeated
+ * questions between moves cost a lookup.
+ * <p>
+ * The status is tied to a position key and starts over whenever it is asked
+ * about a different key, which also covers boards edited outside the game.
+ * The legal moves of the side to move are also looked up in, and added to,
+ * the process-wide {@link MoveCache}.
+ */
+final class GameStatus {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte NO = 1;
+    private static final byte YES = 2;
+
+    private long key;
+    private boolean valid;
+    private final byte[] inCheck = new byte[2];
+    private final byte[] hasLegalMove = new byte[2];
+    private final boolean[] movesKnown = new boolean[2];
+    private final MoveList[] legalMoves = {new MoveList(), new MoveList()};
+
+    /**
+     * Forgets everything, so the next question is answered from scratch
+     */
+    void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * @return whether the team's king is attacked
+     */
+    boolean isInCheck(ChessGame game, ChessGame.TeamColor color) {
+        sync(game);
+        int i = color.ordinal();
+        if (inCheck[i] == UNKNOWN) {
+            ChessBoard board = game.getBoard();
+            long king = board.getPieces(color, ChessPiece.PieceType.KING);
+            boolean attacked = king != 0
+                    && board.isSquareAttacked(Long.numberOfTrailingZeros(king), color.opponent());
+            inCheck[i] = attacked ? YES : NO;
+        }
+        return inCheck[i] == YES;
+    }
+
+    /**
+     * @return whether the team has at least one legal move
+     */
+    boolean hasLegalMove(ChessGame game, ChessGame.TeamColor color) {
+        sync(game);
+        int i = color.ordinal();
+        if (hasLegalMove[i] == UNKNOWN) {
+            boolean found = movesKnown[i] ? !legalMoves[i].isEmpty() : MoveGenerator.hasLegalMove(game, color);
+            hasLegalMove[i] = found ? YES : NO;
+        }
+        return hasLegalMove[i] == YES;
+    }
+
+    /**
+     * @return every legal move of the team as packed moves, which the caller
+     * must not change
+     */
+    MoveList legalMoves(ChessGame game, ChessGame.TeamColor color) {
+        sync(game);
+        int i = color.ordinal();
+        if (!movesKnown[i]) {
+            legalMoves[i].clear();
+            if (color == game.getTeamTurn()) {
+                MoveCache cache = MoveCache.shared();
+                long occupied = game.getBoard().getOccupied();
+                MoveCache.Entry entry = cache.get(key, occupied);
+                if (entry == null) {
+                    MoveGenerator.generateLegalMoves(game, color, -1L, legalMoves[i]);
+                    entry = cache.put(key, occupied, legalMoves[i], isInCheck(game, color));
+                } else {
+                    entry.copyTo(legalMoves[i]);
+                }
+                inCheck[i] = entry.isInCheck() ? YES : NO;
+            } else {
+                MoveGenerator.generateLegalMoves(game, color, -1L, legalMoves[i]);
+            }
+            movesKnown[i] = true;
+            hasLegalMove[i] = legalMoves[i].isEmpty() ? NO : YES;
+        }
+        return legalMoves[i];
+    }
+
+    private void sync(ChessGame game) {
+        long positionKey = game.getPositionKey();
+        if (valid && key == positionKey) {
+            return;
+        }
+        key = positionKey;
+        valid = true;
+        for (int i = 0; i < 2; i++) {
+            inCheck[i] = UNKNOWN;
+            hasLegalMove[i] = UNKNOWN;
+            movesKnown[i] = false;
+        }
+    }
+}
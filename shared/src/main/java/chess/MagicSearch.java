@@ -0,0 +1,95 @@
+package chess;
+
+import java.util.Locale;
+
+/**
+ * Finds the magic numbers {@link SlidingAttacks} uses and prints them as Java
+ * arrays to paste into it. Random candidates with few bits set are tried for
+ * each square until one maps every arrangement of blockers to a table slot
+ * without two different attack sets colliding. The random numbers come from a
+ * fixed seed, so every run prints the same magics.
+ * <p>
+ * Run with {@code java -cp shared/target/classes chess.MagicSearch}.
+ */
+public final class MagicSearch {
+
+    private static long seed = 0x9E3779B97F4A7C15L;
+
+    private MagicSearch() {
+
+    }
+
+    public static void main(String[] args) {
+        long[] rookMagics = new long[64];
+        long[] bishopMagics = new long[64];
+        for (int square = 0; square < 64; square++) {
+            rookMagics[square] = findMagic(square, SlidingAttacks.ROOK_DIRECTIONS);
+            bishopMagics[square] = findMagic(square, SlidingAttacks.BISHOP_DIRECTIONS);
+        }
+        print("ROOK_MAGICS", rookMagics);
+        print("BISHOP_MAGICS", bishopMagics);
+    }
+
+    /**
+     * @return a magic number that indexes the attack sets of a slider on the
+     * square without collisions
+     */
+    static long findMagic(int square, int[][] directions) {
+        long mask = SlidingAttacks.relevantBlockers(square, directions);
+        int bits = Long.bitCount(mask);
+        int size = 1 << bits;
+
+        long[] blockers = new long[size];
+        long[] attacks = new long[size];
+        long subset = 0L;
+        for (int i = 0; i < size; i++) {
+            blockers[i] = subset;
+            attacks[i] = SlidingAttacks.walkRays(square, subset, directions);
+            subset = (subset - mask) & mask;
+        }
+
+        long[] table = new long[size];
+        int[] filledBy = new int[size];
+        for (int attempt = 1; ; attempt++) {
+            long magic = nextRandom() & nextRandom() & nextRandom();
+            if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+                continue;
+            }
+            boolean collision = false;
+            for (int i = 0; i < size && !collision; i++) {
+                int index = (int) ((blockers[i] * magic) >>> (64 - bits));
+                if (filledBy[index] != attempt) {
+                    filledBy[index] = attempt;
+                    table[index] = attacks[i];
+                } else if (table[index] != attacks[i]) {
+                    collision = true;
+                }
+            }
+            if (!collision) {
+                return magic;
+            }
+        }
+    }
+
+    private static void print(String name, long[] magics) {
+        StringBuilder out = new StringBuilder("    private static final long[] " + name + " = {\n");
+        for (int square = 0; square < 64; square++) {
+            out.append(square % 4 == 0 ? "            " : " ");
+            out.append(String.format(Locale.ROOT, "0x%016XL", magics[square]));
+            if (square < 63) {
+                out.append(',');
+            }
+            if (square % 4 == 3) {
+                out.append('\n');
+            }
+        }
+        System.out.print(out.append("    };\n"));
+    }
+
+    private static long nextRandom() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return seed;
+    }
+}
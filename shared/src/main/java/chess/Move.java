@@ -0,0 +1,61 @@
+package chess;
+
+/**
+ * Packs a move into an int so move lists can be plain int arrays.
+ * <p>
+ * Bits 0-5 hold the start square, bits 6-11 the end square and bits 12-14 the
+ * promotion piece (0 for none, otherwise its {@link ChessPiece.PieceType}
+ * ordinal plus 1), so every move fits in the low 15 bits. Squares are numbered
+ * as in {@link Bitboards}.
+ */
+public final class Move {
+
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    private Move() {
+
+    }
+
+    /**
+     * @return the packed move
+     */
+    public static int of(int from, int to, ChessPiece.PieceType promotion) {
+        return from | to << 6 | (promotion == null ? 0 : promotion.ordinal() + 1) << 12;
+    }
+
+    /**
+     * @return the packed form of a move
+     */
+    public static int of(ChessMove move) {
+        return of(move.getStartPosition().getSquare(), move.getEndPosition().getSquare(), move.getPromotionPiece());
+    }
+
+    /**
+     * @return the square the move starts on
+     */
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    /**
+     * @return the square the move ends on
+     */
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /**
+     * @return the piece type a pawn promotes to, or null if the move is not a promotion
+     */
+    public static ChessPiece.PieceType promotion(int move) {
+        int promotion = (move >>> 12) & 7;
+        return promotion == 0 ? null : TYPES[promotion - 1];
+    }
+
+    /**
+     * @return the move as a {@link ChessMove}
+     */
+    public static ChessMove toChessMove(int move) {
+        return new ChessMove(ChessPosition.of(from(move)), ChessPosition.of(to(move)), promotion(move));
+    }
+}
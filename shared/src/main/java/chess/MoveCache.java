@@ -0,0 +1,246 @@
+package chess;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of the legal moves of positions, keyed by their 64-bit
+ * position key (see {@link ChessGame#getPositionKey()}) and shared by every
+ * game in the process through {@link #shared()}. The opening position and
+ * other common positions come up in many games, so their moves only need to
+ * be generated once. Each entry also keeps the occupancy bitboard of its
+ * position, and a lookup only hits when both match, so two positions whose
+ * keys collide cannot hand each other their moves.
+ * <p>
+ * The cache is split into stripes, each guarded by its own lock, so threads
+ * working on different positions rarely wait for each other. Within a stripe
+ * a key maps to a bucket of a few slots. When a bucket is full, a clock hand
+ * sweeps its slots and evicts the first one not used since the last sweep.
+ * Entries are immutable, so they can be read after the lock is released.
+ */
+public final class MoveCache {
+
+    private static final int WAYS = 4;
+    private static final int STRIPES = 64;
+    private static final MoveCache SHARED = new MoveCache(1 << 16);
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final int bucketMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity roughly how many positions to hold, rounded up so each
+     *                 stripe holds a power of two buckets
+     */
+    public MoveCache(int capacity) {
+        int perStripe = Math.max(capacity / (STRIPES * WAYS), 1);
+        int buckets = Integer.highestOneBit(perStripe * 2 - 1);
+        bucketMask = buckets - 1;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(buckets);
+        }
+    }
+
+    /**
+     * @return the cache shared by every game in the process
+     */
+    public static MoveCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * @param key      a position key
+     * @param occupied the occupancy bitboard of the position
+     * @return the cached entry for the position, or null if it is not cached
+     */
+    public Entry get(long key, long occupied) {
+        Entry entry = stripeFor(key).get(key, occupied, bucketFor(key));
+        if (entry == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Caches the legal moves of a position, evicting another position if its
+     * bucket is full
+     *
+     * @param key      the position key
+     * @param occupied the occupancy bitboard of the position
+     * @param moves    every legal move of the side to move, which is copied
+     * @param inCheck  whether the side to move is in check
+     * @return the new entry
+     */
+    public Entry put(long key, long occupied, MoveList moves, boolean inCheck) {
+        int[] packed = new int[moves.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = moves.get(i);
+        }
+        Entry entry = new Entry(key, occupied, packed, inCheck);
+        stripeFor(key).put(entry, bucketFor(key));
+        return entry;
+    }
+
+    /**
+     * Removes every entry and resets the counters
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * @return how many lookups found their position
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return how many lookups did not find their position
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return how many positions the cache can hold
+     */
+    public int capacity() {
+        return STRIPES * (bucketMask + 1) * WAYS;
+    }
+
+    private Stripe stripeFor(long key) {
+        return stripes[(int) (key >>> 58) & (STRIPES - 1)];
+    }
+
+    private int bucketFor(long key) {
+        return (int) key & bucketMask;
+    }
+
+    /**
+     * The cached legal moves of one position
+     */
+    public static final class Entry {
+
+        private final long key;
+        private final long occupied;
+        private final int[] moves;
+        private final boolean inCheck;
+
+        private Entry(long key, long occupied, int[] moves, boolean inCheck) {
+            this.key = key;
+            this.occupied = occupied;
+            this.moves = moves;
+            this.inCheck = inCheck;
+        }
+
+        /**
+         * @return the position key
+         */
+        public long getKey() {
+            return key;
+        }
+
+        /**
+         * @return the occupancy bitboard of the position
+         */
+        public long getOccupied() {
+            return occupied;
+        }
+
+        /**
+         * @return how many legal moves the side to move has
+         */
+        public int size() {
+            return moves.length;
+        }
+
+        /**
+         * @return the packed legal move at the given index, see {@link Move}
+         */
+        public int get(int index) {
+            return moves[index];
+        }
+
+        /**
+         * Adds every legal move to a list
+         */
+        public void copyTo(MoveList target) {
+            for (int move : moves) {
+                target.add(move);
+            }
+        }
+
+        public boolean isInCheck() {
+            return inCheck;
+        }
+
+        public boolean isCheckmate() {
+            return inCheck && moves.length == 0;
+        }
+
+        public boolean isStalemate() {
+            return !inCheck && moves.length == 0;
+        }
+    }
+
+    private static final class Stripe {
+
+        private final Entry[] entries;
+        private final boolean[] referenced;
+        private final byte[] hands;
+
+        Stripe(int buckets) {
+            entries = new Entry[buckets * WAYS];
+            referenced = new boolean[buckets * WAYS];
+            hands = new byte[buckets];
+        }
+
+        synchronized Entry get(long key, long occupied, int bucket) {
+            int base = bucket * WAYS;
+            for (int slot = base; slot < base + WAYS; slot++) {
+                Entry entry = entries[slot];
+                if (entry != null && entry.key == key && entry.occupied == occupied) {
+                    referenced[slot] = true;
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        synchronized void put(Entry entry, int bucket) {
+            int base = bucket * WAYS;
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (entries[slot] == null || entries[slot].key == entry.key) {
+                    entries[slot] = entry;
+                    referenced[slot] = true;
+                    return;
+                }
+            }
+            while (true) {
+                int slot = base + hands[bucket];
+                hands[bucket] = (byte) ((hands[bucket] + 1) % WAYS);
+                if (referenced[slot]) {
+                    referenced[slot] = false;
+                } else {
+                    entries[slot] = entry;
+                    referenced[slot] = true;
+                    return;
+                }
+            }
+        }
+
+        synchronized void clear() {
+            Arrays.fill(entries, null);
+            Arrays.fill(referenced, false);
+            Arrays.fill(hands, (byte) 0);
+        }
+    }
+}
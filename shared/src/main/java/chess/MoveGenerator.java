@@ -0,0 +1,347 @@
+package chess;
+
+import static chess.ChessPiece.PieceType.*;
+
+/**
+ * Generates only legal moves for a team, without trying each move on the board.
+ * <p>
+ * The pieces giving check and the pieces pinned to their own king are worked
+ * out once per call. With those known, a move that would leave the king in
+ * check is never produced: in check, other pieces may only capture the checker
+ * or block its ray, pinned pieces may only move along their pin, and the king
+ * may only step to squares the enemy does not attack.
+ * <p>
+ * Moves are written as packed ints (see {@link Move}) into a {@link MoveList}
+ * the caller can reuse, so generating moves allocates nothing.
+ */
+public final class MoveGenerator {
+
+    private static final ChessPiece.PieceType[] PROMOTIONS = {QUEEN, ROOK, BISHOP, KNIGHT};
+
+    private MoveGenerator() {
+
+    }
+
+    /**
+     * Adds every legal move for a team's pieces on the given squares
+     *
+     * @param game  the game holding the position, castling rights and en passant square
+     * @param color the team to generate moves for, which need not be the team to move
+     * @param from  the squares whose pieces should be moved, e.g. -1 for all of them
+     * @param moves where the packed moves are added
+     */
+    public static void generateLegalMoves(ChessGame game, ChessGame.TeamColor color, long from,
+                                          MoveList moves) {
+        generateLegalMoves(game, color, from, -1L, moves);
+    }
+
+    /**
+     * Adds the legal moves for a team's pieces on the given squares that land
+     * on the given target squares, e.g. only captures or only quiet moves. A
+     * castle lands on the king's destination and an en passant capture on the
+     * square the pawn moves to.
+     *
+     * @param game  the game holding the position, castling rights and en passant square
+     * @param color the team to generate moves for, which need not be the team to move
+     * @param from  the squares whose pieces should be moved, e.g. -1 for all of them
+     * @param to    the squares the moves may land on, e.g. -1 for any of them
+     * @param moves where the packed moves are added
+     */
+    public static void generateLegalMoves(ChessGame game, ChessGame.TeamColor color, long from, long to,
+                                          MoveList moves) {
+        ChessBoard board = game.getBoard();
+        ChessGame.TeamColor enemy = color.opponent();
+        long us = board.getPieces(color);
+        long them = board.getPieces(enemy);
+        long occupied = us | them;
+        long kingBit = board.getPieces(color, KING);
+
+        if (kingBit == 0) {
+            generatePieceMoves(game, color, from & us, ~us & to, to, 0L, -1, moves);
+            return;
+        }
+
+        int king = Long.numberOfTrailingZeros(kingBit);
+        long checkers = board.attackersTo(king, occupied) & them;
+        long pinned = pinnedPieces(board, color, king);
+
+        if ((from & kingBit) != 0) {
+            long enemyAttacks = attackedSquares(board, enemy, occupied ^ kingBit);
+            addMoves(king, Bitboards.kingAttacks(king) & ~us & ~enemyAttacks & to, moves);
+            if (checkers == 0) {
+                addCastlingMoves(game, color, king, occupied, enemyAttacks, to, moves);
+            }
+        }
+
+        if (Long.bitCount(checkers) > 1) {
+            return;
+        }
+        long targets = ~us;
+        if (checkers != 0) {
+            int checker = Long.numberOfTrailingZeros(checkers);
+            targets = checkers | SlidingAttacks.between(king, checker);
+        }
+        generatePieceMoves(game, color, from & us & ~kingBit, targets & to, to, pinned, king, moves);
+    }
+
+    /**
+     * Determines whether a team has at least one legal move, stopping at the
+     * first one found. The cheapest candidates are tried first: a king step,
+     * then a capture of a lone checker, before the other pieces are looked at
+     * one by one. Castling is never needed, since a legal castle implies a
+     * legal king step.
+     *
+     * @param game  the game holding the position and en passant square
+     * @param color the team to look for a move for
+     * @return true if the team has a legal move
+     */
+    public static boolean hasLegalMove(ChessGame game, ChessGame.TeamColor color) {
+        ChessBoard board = game.getBoard();
+        ChessGame.TeamColor enemy = color.opponent();
+        long us = board.getPieces(color);
+        long them = board.getPieces(enemy);
+        long occupied = us | them;
+        long kingBit = board.getPieces(color, KING);
+
+        if (kingBit == 0) {
+            return hasPieceMove(game, color, us, ~us, 0L, -1);
+        }
+
+        int king = Long.numberOfTrailingZeros(kingBit);
+        long steps = Bitboards.kingAttacks(king) & ~us;
+        if (steps != 0 && (steps & ~attackedSquares(board, enemy, occupied ^ kingBit)) != 0) {
+            return true;
+        }
+
+        long checkers = board.attackersTo(king, occupied) & them;
+        if (Long.bitCount(checkers) > 1) {
+            return false;
+        }
+        long pinned = pinnedPieces(board, color, king);
+        long targets = ~us;
+        if (checkers != 0) {
+            int checker = Long.numberOfTrailingZeros(checkers);
+            if ((board.attackersTo(checker, occupied) & us & ~kingBit & ~pinned) != 0) {
+                return true;
+            }
+            targets = SlidingAttacks.between(king, checker) | checkers;
+        }
+        return hasPieceMove(game, color, us & ~kingBit, targets, pinned, king);
+    }
+
+    /**
+     * Adds the moves of the piece on a square without considering whether they
+     * leave its king in check, castling or en passant, as {@link ChessPiece#pieceMoves}
+     * describes
+     *
+     * @param board  the board holding the piece
+     * @param square the square of the piece to move
+     * @param moves  where the packed moves are added
+     */
+    public static void generatePseudoMoves(ChessBoard board, int square, MoveList moves) {
+        ChessPiece piece = board.getPiece(square);
+        addPieceMoves(board, piece, square, ~board.getPieces(piece.getTeamColor()), moves);
+    }
+
+    /**
+     * Finds the pieces of a team that are pinned to its king by an enemy slider
+     *
+     * @return the squares of the pinned pieces
+     */
+    public static long pinnedPieces(ChessBoard board, ChessGame.TeamColor color, int king) {
+        ChessGame.TeamColor enemy = color.opponent();
+        long them = board.getPieces(enemy);
+        long occupied = board.getOccupied();
+        long queens = board.getPieces(enemy, QUEEN);
+        long snipers = (SlidingAttacks.rookAttacks(king, them) & (board.getPieces(enemy, ROOK) | queens))
+                | (SlidingAttacks.bishopAttacks(king, them) & (board.getPieces(enemy, BISHOP) | queens));
+        long pinned = 0L;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = SlidingAttacks.between(king, sniper) & occupied;
+            if (Long.bitCount(blockers) == 1) {
+                pinned |= blockers & board.getPieces(color);
+            }
+        }
+        return pinned;
+    }
+
+    /**
+     * Works out every square a team attacks
+     *
+     * @param occupied the squares to treat as occupied when looking along the
+     *                 rays of the sliding pieces
+     * @return the attacked squares
+     */
+    public static long attackedSquares(ChessBoard board, ChessGame.TeamColor color, long occupied) {
+        long pawns = board.getPieces(color, PAWN);
+        long attacks = color == ChessGame.TeamColor.WHITE
+                ? ((pawns & ~Bitboards.FILE_A) << 7) | ((pawns & ~Bitboards.FILE_H) << 9)
+                : ((pawns & ~Bitboards.FILE_A) >>> 9) | ((pawns & ~Bitboards.FILE_H) >>> 7);
+        long kings = board.getPieces(color, KING);
+        if (kings != 0) {
+            attacks |= Bitboards.kingAttacks(Long.numberOfTrailingZeros(kings));
+        }
+        for (long knights = board.getPieces(color, KNIGHT); knights != 0; knights &= knights - 1) {
+            attacks |= Bitboards.knightAttacks(Long.numberOfTrailingZeros(knights));
+        }
+        long queens = board.getPieces(color, QUEEN);
+        for (long rooks = board.getPieces(color, ROOK) | queens; rooks != 0; rooks &= rooks - 1) {
+            attacks |= SlidingAttacks.rookAttacks(Long.numberOfTrailingZeros(rooks), occupied);
+        }
+        for (long bishops = board.getPieces(color, BISHOP) | queens; bishops != 0; bishops &= bishops - 1) {
+            attacks |= SlidingAttacks.bishopAttacks(Long.numberOfTrailingZeros(bishops), occupied);
+        }
+        return attacks;
+    }
+
+    private static void generatePieceMoves(ChessGame game, ChessGame.TeamColor color, long pieces, long targets,
+                                           long to, long pinned, int king, MoveList moves) {
+        ChessBoard board = game.getBoard();
+        int enPassant = color == game.getTeamTurn() ? game.getEnPassantSquare() : -1;
+        if (enPassant >= 0 && (to & Bitboards.bit(enPassant)) == 0) {
+            enPassant = -1;
+        }
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            long allowed = targets;
+            if ((pinned & Bitboards.bit(from)) != 0) {
+                allowed &= SlidingAttacks.line(king, from);
+            }
+            ChessPiece piece = board.getPiece(from);
+            addPieceMoves(board, piece, from, allowed, moves);
+            if (enPassant >= 0 && piece.getPieceType() == PAWN
+                    && (Bitboards.pawnAttacks(color, from) & Bitboards.bit(enPassant)) != 0
+                    && isLegalEnPassant(board, color, from, enPassant, king)) {
+                moves.add(Move.of(from, enPassant, null));
+            }
+        }
+    }
+
+    private static boolean hasPieceMove(ChessGame game, ChessGame.TeamColor color, long pieces, long targets,
+                                        long pinned, int king) {
+        ChessBoard board = game.getBoard();
+        int enPassant = color == game.getTeamTurn() ? game.getEnPassantSquare() : -1;
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            long allowed = targets;
+            if ((pinned & Bitboards.bit(from)) != 0) {
+                allowed &= SlidingAttacks.line(king, from);
+            }
+            ChessPiece piece = board.getPiece(from);
+            if (pieceTargets(board, piece, from, allowed) != 0) {
+                return true;
+            }
+            if (enPassant >= 0 && piece.getPieceType() == PAWN
+                    && (Bitboards.pawnAttacks(color, from) & Bitboards.bit(enPassant)) != 0
+                    && isLegalEnPassant(board, color, from, enPassant, king)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addPieceMoves(ChessBoard board, ChessPiece piece, int from, long allowed, MoveList moves) {
+        long targets = pieceTargets(board, piece, from, allowed);
+        if (piece.getPieceType() == PAWN) {
+            addPawnTargets(from, targets, moves);
+        } else {
+            addMoves(from, targets, moves);
+        }
+    }
+
+    private static long pieceTargets(ChessBoard board, ChessPiece piece, int from, long allowed) {
+        long occupied = board.getOccupied();
+        return allowed & switch (piece.getPieceType()) {
+            case PAWN -> pawnTargets(board, piece.getTeamColor(), from);
+            case KNIGHT -> Bitboards.knightAttacks(from);
+            case BISHOP -> SlidingAttacks.bishopAttacks(from, occupied);
+            case ROOK -> SlidingAttacks.rookAttacks(from, occupied);
+            case QUEEN -> SlidingAttacks.queenAttacks(from, occupied);
+            case KING -> Bitboards.kingAttacks(from);
+        };
+    }
+
+    private static long pawnTargets(ChessBoard board, ChessGame.TeamColor color, int from) {
+        long occupied = board.getOccupied();
+        long them = board.getPieces(color.opponent());
+        boolean white = color == ChessGame.TeamColor.WHITE;
+        int forward = white ? 8 : -8;
+        int startRow = white ? 2 : 7;
+
+        long pushes = 0L;
+        int single = from + forward;
+        if (single >= 0 && single < 64 && (occupied & Bitboards.bit(single)) == 0) {
+            pushes |= Bitboards.bit(single);
+            int twice = single + forward;
+            if (Bitboards.row(from) == startRow && (occupied & Bitboards.bit(twice)) == 0) {
+                pushes |= Bitboards.bit(twice);
+            }
+        }
+        return pushes | (Bitboards.pawnAttacks(color, from) & them);
+    }
+
+    private static boolean isLegalEnPassant(ChessBoard board, ChessGame.TeamColor color, int from, int to,
+                                            int king) {
+        if (king < 0) {
+            return true;
+        }
+        int captured = color == ChessGame.TeamColor.WHITE ? to - 8 : to + 8;
+        long occupied = (board.getOccupied() ^ Bitboards.bit(from) ^ Bitboards.bit(captured)) | Bitboards.bit(to);
+        long attackers = board.attackersTo(king, occupied) & board.getPieces(color.opponent());
+        return (attackers & ~Bitboards.bit(captured)) == 0;
+    }
+
+    private static void addPawnTargets(int from, long targets, MoveList moves) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            if (to < 8 || to >= 56) {
+                for (ChessPiece.PieceType promotion : PROMOTIONS) {
+                    moves.add(Move.of(from, to, promotion));
+                }
+            } else {
+                moves.add(Move.of(from, to, null));
+            }
+        }
+    }
+
+    private static void addCastlingMoves(ChessGame game, ChessGame.TeamColor color, int king, long occupied,
+                                         long enemyAttacks, long to, MoveList moves) {
+        boolean white = color == ChessGame.TeamColor.WHITE;
+        if (king != (white ? 4 : 60)) {
+            return;
+        }
+        // The rights are only kept up to date by moves, so a board edited
+        // directly may have lost the rook a right refers to
+        int rights = game.getCastlingRights();
+        long rooks = game.getBoard().getPieces(color, ROOK);
+        int kingside = white ? ChessGame.WHITE_KINGSIDE : ChessGame.BLACK_KINGSIDE;
+        int queenside = white ? ChessGame.WHITE_QUEENSIDE : ChessGame.BLACK_QUEENSIDE;
+        if ((rights & kingside) != 0 && (rooks & Bitboards.bit(king + 3)) != 0
+                && (to & Bitboards.bit(king + 2)) != 0) {
+            long path = Bitboards.bit(king + 1) | Bitboards.bit(king + 2);
+            if ((occupied & path) == 0 && (enemyAttacks & path) == 0) {
+                moves.add(Move.of(king, king + 2, null));
+            }
+        }
+        if ((rights & queenside) != 0 && (rooks & Bitboards.bit(king - 4)) != 0
+                && (to & Bitboards.bit(king - 2)) != 0) {
+            long path = Bitboards.bit(king - 1) | Bitboards.bit(king - 2);
+            if ((occupied & (path | Bitboards.bit(king - 3))) == 0 && (enemyAttacks & path) == 0) {
+                moves.add(Move.of(king, king - 2, null));
+            }
+        }
+    }
+
+    private static void addMoves(int from, long targets, MoveList moves) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            moves.add(Move.of(from, to, null));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package chess;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A reusable buffer of packed moves (see {@link Move}). Clearing and refilling
+ * the same list allocates nothing, so move generation in a search or perft
+ * can run without creating garbage.
+ */
+public final class MoveList {
+
+    private int[] moves;
+    private int size;
+
+    public MoveList() {
+        this(256);
+    }
+
+    public MoveList(int capacity) {
+        moves = new int[capacity];
+    }
+
+    /**
+     * Adds a packed move to the end of the list
+     */
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    /**
+     * @return the packed move at the given index
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Replaces the packed move at the given index
+     */
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    /**
+     * @return how many moves are in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Empties the list, keeping its storage for reuse
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return true if the list holds the given packed move
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converts every move in the list to a {@link ChessMove}
+     *
+     * @param target where the converted moves are added
+     * @return the target collection
+     */
+    public <T extends Collection<ChessMove>> T toChessMoves(T target) {
+        for (int i = 0; i < size; i++) {
+            target.add(Move.toChessMove(moves[i]));
+        }
+        return target;
+    }
+}
@@ -0,0 +1,174 @@
+package chess;
+
+import java.io.Serial;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts perft nodes (see {@link Perft}) on every core of the machine. The
+ * first plies of the move tree are split into {@link RecursiveTask}s, each
+ * working on its own copy of the game, and the subtrees below them are
+ * counted with the single threaded walk. Timing a count measures how well the
+ * rules engine scales across cores.
+ * <p>
+ * Optionally the threads share a hash table of subtree counts keyed by
+ * position key and depth, so a position reached again through a different
+ * move order, in any thread, is only counted once. The table is written
+ * without locks: each slot stores its count next to the count XORed with the
+ * key, so a slot torn by two threads writing at once fails the key check and
+ * is treated as empty.
+ * <p>
+ * Run from the command line with a depth, optionally a {@link PerftPosition}
+ * name, a thread count and {@code hash}, e.g.
+ * {@code java -cp shared/target/classes chess.ParallelPerft 6 start 8 hash}.
+ */
+public final class ParallelPerft {
+
+    private static final int SPLIT_DEPTH = 2;
+
+    private final ForkJoinPool pool;
+    private final long[] hashChecks;
+    private final long[] hashCounts;
+
+    /**
+     * @param parallelism how many threads to count with
+     * @param hashEntries how many subtree counts the shared hash table holds,
+     *                    rounded down to a power of two, or 0 for no table
+     */
+    public ParallelPerft(int parallelism, int hashEntries) {
+        pool = new ForkJoinPool(parallelism);
+        int size = hashEntries > 0 ? Integer.highestOneBit(hashEntries) : 0;
+        hashChecks = new long[size];
+        hashCounts = new long[size];
+    }
+
+    /**
+     * @return a counter using every available processor and no hash table
+     */
+    public static ParallelPerft withAllProcessors() {
+        return new ParallelPerft(Runtime.getRuntime().availableProcessors(), 0);
+    }
+
+    /**
+     * @param game  the game to count from, which is not changed
+     * @param depth how many moves deep to count
+     * @return the number of move sequences of exactly that length
+     */
+    public long perft(ChessGame game, int depth) {
+        return pool.invoke(new PerftTask(new ChessGame(game), depth, SPLIT_DEPTH));
+    }
+
+    /**
+     * @return how many threads count in parallel
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Stops the counting threads
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private long countSubtree(ChessGame game, int depth) {
+        MoveList[] lists = new MoveList[Math.max(depth, 1)];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = new MoveList();
+        }
+        return countSubtree(game, depth, lists);
+    }
+
+    private long countSubtree(ChessGame game, int depth, MoveList[] lists) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = lists[depth - 1];
+        moves.clear();
+        MoveGenerator.generateLegalMoves(game, game.getTeamTurn(), -1L, moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+        long key = game.getPositionKey() + depth * 0x9E3779B97F4A7C15L;
+        int slot = (int) key & (hashCounts.length - 1);
+        if (hashCounts.length > 0 && (hashChecks[slot] ^ hashCounts[slot]) == key) {
+            return hashCounts[slot];
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            game.doMove(moves.get(i));
+            nodes += countSubtree(game, depth - 1, lists);
+            game.undoMove();
+        }
+        if (hashCounts.length > 0) {
+            hashChecks[slot] = key ^ nodes;
+            hashCounts[slot] = nodes;
+        }
+        return nodes;
+    }
+
+    private final class PerftTask extends RecursiveTask<Long> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient ChessGame game;
+        private final int depth;
+        private final int splitDepth;
+
+        PerftTask(ChessGame game, int depth, int splitDepth) {
+            this.game = game;
+            this.depth = depth;
+            this.splitDepth = splitDepth;
+        }
+
+        @Override
+        protected Long compute() {
+            if (splitDepth == 0 || depth <= 2) {
+                return countSubtree(game, depth);
+            }
+            MoveList moves = new MoveList();
+            MoveGenerator.generateLegalMoves(game, game.getTeamTurn(), -1L, moves);
+            PerftTask[] tasks = new PerftTask[moves.size()];
+            for (int i = 0; i < tasks.length; i++) {
+                ChessGame child = new ChessGame(game);
+                child.doMove(moves.get(i));
+                tasks[i] = new PerftTask(child, depth - 1, splitDepth - 1);
+                tasks[i].fork();
+            }
+            long nodes = 0;
+            for (PerftTask task : tasks) {
+                nodes += task.join();
+            }
+            return nodes;
+        }
+    }
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        PerftPosition position = args.length > 1
+                ? PerftPosition.valueOf(args[1].toUpperCase(Locale.ROOT)) : PerftPosition.START;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        boolean hash = args.length > 3 && args[3].equalsIgnoreCase("hash");
+        ParallelPerft counter = new ParallelPerft(threads, hash ? 1 << 22 : 0);
+        ChessGame game = position.newGame();
+
+        long start = System.nanoTime();
+        long nodes = counter.perft(game, depth);
+        long elapsed = System.nanoTime() - start;
+        counter.shutdown();
+
+        System.out.println("Position: " + position);
+        System.out.println("Depth: " + depth);
+        System.out.println("Threads: " + counter.getParallelism() + (hash ? " (shared hash)" : ""));
+        System.out.println("Nodes: " + nodes);
+        if (depth <= position.maxDepth()) {
+            boolean correct = nodes == position.nodeCount(depth);
+            System.out.println("Expected: " + position.nodeCount(depth) + (correct ? " (ok)" : " (MISMATCH)"));
+        }
+        System.out.printf("Time: %.3f s%n", elapsed / 1e9);
+        System.out.printf("Nodes/second: %.0f%n", nodes / Math.max(elapsed / 1e9, 1e-9));
+    }
+}
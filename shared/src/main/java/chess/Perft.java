@@ -0,0 +1,100 @@
+package chess;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counts the leaf nodes of the move tree to a fixed depth ("perft"). Comparing
+ * the counts against published values checks that move generation is correct,
+ * and timing the count measures how fast it is. The count walks packed moves
+ * with one reused {@link MoveList} per ply, so it allocates nothing per node.
+ * <p>
+ * Run from the command line with a depth and optionally a {@link PerftPosition}
+ * name, e.g. {@code java -cp shared/target/classes chess.Perft 5 kiwipete}, to
+ * print the node count below each root move, the total and the nodes per
+ * second.
+ */
+public final class Perft {
+
+    private Perft() {
+
+    }
+
+    /**
+     * @param game  the game to count from, which is left as it was found
+     * @param depth how many moves deep to count
+     * @return the number of move sequences of exactly that length
+     */
+    public static long perft(ChessGame game, int depth) {
+        MoveList[] lists = new MoveList[Math.max(depth, 1)];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = new MoveList();
+        }
+        return perft(game, depth, lists);
+    }
+
+    private static long perft(ChessGame game, int depth, MoveList[] lists) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = lists[depth - 1];
+        moves.clear();
+        MoveGenerator.generateLegalMoves(game, game.getTeamTurn(), -1L, moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            game.doMove(moves.get(i));
+            nodes += perft(game, depth - 1, lists);
+            game.undoMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Splits a perft count by root move, which narrows a wrong total down to
+     * the move whose subtree is wrong
+     *
+     * @param game  the game to count from, which is left as it was found
+     * @param depth how many moves deep to count, at least 1
+     * @return the node count below each root move, in generation order
+     */
+    public static Map<ChessMove, Long> divide(ChessGame game, int depth) {
+        Map<ChessMove, Long> counts = new LinkedHashMap<>();
+        for (ChessMove move : game.validMoves(game.getTeamTurn())) {
+            game.doMove(move);
+            counts.put(move, perft(game, depth - 1));
+            game.undoMove();
+        }
+        return counts;
+    }
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        PerftPosition position = args.length > 1
+                ? PerftPosition.valueOf(args[1].toUpperCase(Locale.ROOT)) : PerftPosition.START;
+        ChessGame game = position.newGame();
+
+        long start = System.nanoTime();
+        Map<ChessMove, Long> counts = divide(game, depth);
+        long elapsed = System.nanoTime() - start;
+
+        long nodes = 0;
+        for (Map.Entry<ChessMove, Long> entry : counts.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            nodes += entry.getValue();
+        }
+        System.out.println();
+        System.out.println("Position: " + position);
+        System.out.println("Depth: " + depth);
+        System.out.println("Nodes: " + nodes);
+        if (depth <= position.maxDepth()) {
+            boolean correct = nodes == position.nodeCount(depth);
+            System.out.println("Expected: " + position.nodeCount(depth) + (correct ? " (ok)" : " (MISMATCH)"));
+        }
+        System.out.printf("Time: %.3f s%n", elapsed / 1e9);
+        System.out.printf("Nodes/second: %.0f%n", nodes / Math.max(elapsed / 1e9, 1e-9));
+    }
+}
@@ -0,0 +1,59 @@
+package chess;
+
+/**
+ * Well known positions with published perft node counts, used to check that
+ * move generation is correct. Together they cover castling, en passant,
+ * promotion, pins and checks.
+ */
+public enum PerftPosition {
+
+    START(Fen.START, 20, 400, 8902, 197281, 4865609),
+
+    KIWIPETE("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            48, 2039, 97862, 4085603),
+
+    ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 14, 191, 2812, 43238, 674624),
+
+    PROMOTIONS("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 6, 264, 9467, 422333),
+
+    DISCOVERED_CHECKS("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 44, 1486, 62379, 2103487),
+
+    UNDERPROMOTIONS("n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1", 24, 496, 9483, 182838);
+
+    private final String fen;
+    private final long[] nodeCounts;
+
+    PerftPosition(String fen, long... nodeCounts) {
+        this.fen = fen;
+        this.nodeCounts = nodeCounts;
+    }
+
+    /**
+     * @return a new game set up at this position
+     */
+    public ChessGame newGame() {
+        return Fen.parse(fen);
+    }
+
+    /**
+     * @return the position in FEN, see {@link Fen}
+     */
+    public String getFen() {
+        return fen;
+    }
+
+    /**
+     * @return the deepest depth with a known node count
+     */
+    public int maxDepth() {
+        return nodeCounts.length;
+    }
+
+    /**
+     * @param depth how many moves deep to count, starting at 1
+     * @return the published number of leaf nodes at that depth
+     */
+    public long nodeCount(int depth) {
+        return nodeCounts[depth - 1];
+    }
+}
@@ -0,0 +1,84 @@
+package chess;
+
+/**
+ * Random keys used to build 64-bit Zobrist hashes of positions.
+ * <p>
+ * A position's key is the XOR of one key per piece on its square, plus keys
+ * for the side to move, the castling rights and the en passant file. Because
+ * XOR is its own inverse, adding or removing a piece updates the key with a
+ * single XOR. The keys come from a fixed seed so they are the same on every
+ * run and in every process.
+ */
+public final class Zobrist {
+
+    private static final long[][] PIECE_SQUARE = new long[12][64];
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT_FILE = new long[8];
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int piece = 0; piece < 12; piece++) {
+            for (int square = 0; square < 64; square++) {
+                seed = next(seed);
+                PIECE_SQUARE[piece][square] = mix(seed);
+            }
+        }
+        for (int rights = 0; rights < 16; rights++) {
+            seed = next(seed);
+            CASTLING[rights] = rights == 0 ? 0L : mix(seed);
+        }
+        for (int file = 0; file < 8; file++) {
+            seed = next(seed);
+            EN_PASSANT_FILE[file] = mix(seed);
+        }
+        BLACK_TO_MOVE = mix(next(seed));
+    }
+
+    private Zobrist() {
+
+    }
+
+    /**
+     * @param pieceIndex the piece kind, see {@link Bitboards#pieceIndex}
+     * @param square     the square the piece is on
+     * @return the key for that piece standing on that square
+     */
+    public static long piece(int pieceIndex, int square) {
+        return PIECE_SQUARE[pieceIndex][square];
+    }
+
+    /**
+     * @param rights the castling rights bit set, see {@link ChessGame}
+     * @return the key for the castling rights, 0 when no one can castle
+     */
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * @param square the en passant target square, or -1 if there is none
+     * @return the key for the en passant file, 0 when there is none
+     */
+    public static long enPassant(int square) {
+        return square < 0 ? 0L : EN_PASSANT_FILE[square & 7];
+    }
+
+    /**
+     * @param team the team whose turn it is
+     * @return the key for the side to move, 0 when white is to move
+     */
+    public static long sideToMove(ChessGame.TeamColor team) {
+        return team == ChessGame.TeamColor.BLACK ? BLACK_TO_MOVE : 0L;
+    }
+
+    private static long next(long seed) {
+        return seed + 0x9E3779B97F4A7C15L;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
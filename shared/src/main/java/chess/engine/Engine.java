@@ -0,0 +1,111 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Finds the best move in a position with an iterative deepening alpha-beta
+ * search.
+ * <p>
+ * With more than one thread the search is "Lazy SMP": every thread searches
+ * the same position on its own copy of the game, and they share nothing but
+ * the transposition table. The helper threads start at alternating depths so
+ * they drift apart and fill the table with results the main thread can use.
+ * The main thread runs on the caller and decides the result; when it finishes
+ * the helpers are stopped.
+ * <p>
+ * An engine keeps its table between searches, so searching the next position
+ * of the same game reuses what was learned. Only one search runs at a time.
+ */
+public final class Engine implements AutoCloseable {
+
+    private final int threads;
+    private final TranspositionTable table;
+    private final ExecutorService pool;
+
+    /**
+     * @param threads       how many threads to search with, at least 1
+     * @param hashMegabytes roughly how much memory the transposition table uses
+     */
+    public Engine(int threads, int hashMegabytes) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("An engine needs at least 1 thread");
+        }
+        this.threads = threads;
+        this.table = new TranspositionTable(hashMegabytes);
+        this.pool = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "engine-helper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Searches until a limit is reached
+     *
+     * @param game   the game to find a move in, which is not changed
+     * @param limits when to stop
+     * @return the best move found and how the search went
+     */
+    public synchronized SearchResult search(ChessGame game, SearchLimits limits) {
+        long start = System.nanoTime();
+        SearchControl control = new SearchControl(limits);
+        int lastDepth = limits.getDepth() > 0 ? Math.min(limits.getDepth(), Searcher.MAX_PLY - 1)
+                : Searcher.MAX_PLY - 1;
+
+        List<Future<?>> helpers = new ArrayList<>();
+        for (int i = 1; i < threads; i++) {
+            Searcher helper = new Searcher(new ChessGame(game), table, control);
+            int firstDepth = 1 + (i & 1);
+            helpers.add(pool.submit(() -> helper.iterate(firstDepth, lastDepth)));
+        }
+        Searcher main = new Searcher(new ChessGame(game), table, control);
+        try {
+            main.iterate(1, lastDepth);
+        } finally {
+            control.stop();
+            for (Future<?> helper : helpers) {
+                try {
+                    helper.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Search thread failed", e.getCause());
+                }
+            }
+        }
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        int move = main.getBestMove();
+        return new SearchResult(move == 0 ? null : Move.toChessMove(move), main.getBestScore(),
+                main.getCompletedDepth(), control.getNodes(), elapsed);
+    }
+
+    /**
+     * Forgets everything learned in earlier searches, e.g. before a new game
+     */
+    public synchronized void clear() {
+        table.clear();
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Stops the helper threads
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
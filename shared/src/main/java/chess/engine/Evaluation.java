@@ -0,0 +1,42 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.PieceSquareTables;
+
+/**
+ * Static evaluation of a position, in centipawns from the point of view of
+ * the team to move.
+ * <p>
+ * The board keeps each team's middlegame and endgame piece-square sums up to
+ * date as moves are played and undone, so evaluating is a blend of those sums
+ * by the game phase and costs the same however many pieces are on the board.
+ */
+public final class Evaluation {
+
+    /**
+     * Rough piece values in centipawns for ordering moves, indexed by
+     * {@link ChessPiece.PieceType} ordinal
+     */
+    static final int[] PIECE_VALUES = {0, 900, 330, 320, 500, 100};
+
+    private Evaluation() {
+
+    }
+
+    /**
+     * @return the tapered piece-square score for the team to move
+     */
+    public static int evaluate(ChessGame game) {
+        ChessBoard board = game.getBoard();
+        int middlegame = board.getMiddlegameScore(ChessGame.TeamColor.WHITE)
+                - board.getMiddlegameScore(ChessGame.TeamColor.BLACK);
+        int endgame = board.getEndgameScore(ChessGame.TeamColor.WHITE)
+                - board.getEndgameScore(ChessGame.TeamColor.BLACK);
+        int phase = Math.min(board.getPhase(), PieceSquareTables.MAX_PHASE);
+        int score = (middlegame * phase + endgame * (PieceSquareTables.MAX_PHASE - phase))
+                / PieceSquareTables.MAX_PHASE;
+        return game.getTeamTurn() == ChessGame.TeamColor.WHITE ? score : -score;
+    }
+}
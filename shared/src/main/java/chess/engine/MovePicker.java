@@ -0,0 +1,240 @@
+package chess.engine;
+
+import chess.Bitboards;
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.Move;
+import chess.MoveGenerator;
+import chess.MoveList;
+
+import java.util.Arrays;
+
+/**
+ * Hands out the legal moves of a position one at a time, best looking first,
+ * generating each group of moves only once the groups before it are used up:
+ * <ol>
+ *     <li>the hash move, the best move an earlier search found here</li>
+ *     <li>captures that win material, most valuable victim first and then
+ *     least valuable attacker first</li>
+ *     <li>promotions that do not capture, queen first</li>
+ *     <li>quiet moves</li>
+ *     <li>captures that lose material</li>
+ * </ol>
+ * A search that cuts off on the hash move or a capture never generates the
+ * quiet moves at all. A picker is reused for every position searched at one
+ * ply, so picking moves allocates nothing.
+ */
+public final class MovePicker {
+
+    private static final int HASH_MOVE = 0;
+    private static final int GENERATE_CAPTURES = 1;
+    private static final int WINNING_CAPTURES = 2;
+    private static final int PROMOTIONS = 3;
+    private static final int QUIETS = 4;
+    private static final int LOSING_CAPTURES = 5;
+    private static final int DONE = 6;
+
+    private static final long BACK_ROWS = 0xFF000000000000FFL;
+
+    private final ChessGame game;
+    private final MoveList moves = new MoveList();
+    private final MoveList losingCaptures = new MoveList();
+    private int[] scores = new int[256];
+    private int stage = DONE;
+    private int index;
+    private int hashMove;
+    private boolean includeQuiets;
+
+    /**
+     * @param game the game whose current position the moves are picked from
+     */
+    public MovePicker(ChessGame game) {
+        this.game = game;
+    }
+
+    /**
+     * Starts picking from the game's current position
+     *
+     * @param hashMove      a packed move to try first if it is legal, or 0
+     * @param includeQuiets false to skip the quiet moves, e.g. when only
+     *                      looking for captures and promotions
+     */
+    public void reset(int hashMove, boolean includeQuiets) {
+        this.hashMove = hashMove;
+        this.includeQuiets = includeQuiets;
+        stage = HASH_MOVE;
+        losingCaptures.clear();
+    }
+
+    /**
+     * @return true once the picker has moved on to the captures that lose
+     * material, which a search of captures alone may skip
+     */
+    public boolean isPickingLosingCaptures() {
+        return stage == LOSING_CAPTURES;
+    }
+
+    /**
+     * @return the next packed move, or 0 once every move has been picked
+     */
+    public int next() {
+        while (true) {
+            switch (stage) {
+                case HASH_MOVE -> {
+                    stage = GENERATE_CAPTURES;
+                    if (hashMove != 0 && isLegal(hashMove)) {
+                        return hashMove;
+                    }
+                }
+                case GENERATE_CAPTURES -> {
+                    ChessBoard board = game.getBoard();
+                    generate(-1L, board.getPieces(game.getTeamTurn().opponent()));
+                    add(pawns(), enPassantSquare());
+                    for (int i = 0; i < moves.size(); i++) {
+                        scores[i] = captureScore(board, moves.get(i));
+                    }
+                    stage = WINNING_CAPTURES;
+                }
+                case WINNING_CAPTURES -> {
+                    while (index < moves.size()) {
+                        int move = pickBest();
+                        if (move == hashMove) {
+                            continue;
+                        }
+                        if (isLosingCapture(move)) {
+                            losingCaptures.add(move);
+                            continue;
+                        }
+                        return move;
+                    }
+                    generate(promotingPawns(), ~game.getBoard().getOccupied() & BACK_ROWS);
+                    for (int i = 0; i < moves.size(); i++) {
+                        scores[i] = Evaluation.PIECE_VALUES[Move.promotion(moves.get(i)).ordinal()];
+                    }
+                    stage = PROMOTIONS;
+                }
+                case PROMOTIONS -> {
+                    while (index < moves.size()) {
+                        int move = pickBest();
+                        if (move != hashMove) {
+                            return move;
+                        }
+                    }
+                    if (includeQuiets) {
+                        long empty = ~game.getBoard().getOccupied();
+                        generate(~pawns(), empty);
+                        add(pawns() & ~promotingPawns(), empty & ~enPassantSquare());
+                        stage = QUIETS;
+                    } else {
+                        index = 0;
+                        stage = LOSING_CAPTURES;
+                    }
+                }
+                case QUIETS -> {
+                    while (index < moves.size()) {
+                        int move = moves.get(index++);
+                        if (move != hashMove) {
+                            return move;
+                        }
+                    }
+                    index = 0;
+                    stage = LOSING_CAPTURES;
+                }
+                case LOSING_CAPTURES -> {
+                    if (index < losingCaptures.size()) {
+                        return losingCaptures.get(index++);
+                    }
+                    stage = DONE;
+                }
+                default -> {
+                    return 0;
+                }
+            }
+        }
+    }
+
+    private void generate(long from, long to) {
+        moves.clear();
+        index = 0;
+        add(from, to);
+    }
+
+    private void add(long from, long to) {
+        if (from == 0 || to == 0) {
+            return;
+        }
+        MoveGenerator.generateLegalMoves(game, game.getTeamTurn(), from, to, moves);
+        if (moves.size() > scores.length) {
+            scores = Arrays.copyOf(scores, moves.size());
+        }
+    }
+
+    private long pawns() {
+        return game.getBoard().getPieces(game.getTeamTurn(), ChessPiece.PieceType.PAWN);
+    }
+
+    /**
+     * @return the en passant square as a bitboard, which only a pawn can
+     * capture onto, or 0 if there is none
+     */
+    private long enPassantSquare() {
+        int square = game.getEnPassantSquare();
+        return square < 0 ? 0L : Bitboards.bit(square);
+    }
+
+    private boolean isLegal(int move) {
+        moves.clear();
+        MoveGenerator.generateLegalMoves(game, game.getTeamTurn(), Bitboards.bit(Move.from(move)),
+                Bitboards.bit(Move.to(move)), moves);
+        return moves.contains(move);
+    }
+
+    /**
+     * Swaps the best scored move left into the next index and takes it
+     */
+    private int pickBest() {
+        int best = index;
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        int move = moves.get(best);
+        moves.set(best, moves.get(index));
+        moves.set(index, move);
+        scores[best] = scores[index];
+        index++;
+        return move;
+    }
+
+    private long promotingPawns() {
+        return pawns() & (game.getTeamTurn() == ChessGame.TeamColor.WHITE
+                ? 0x00FF000000000000L : 0x000000000000FF00L);
+    }
+
+    private static int captureScore(ChessBoard board, int move) {
+        ChessPiece victim = board.getPiece(Move.to(move));
+        int victimValue = Evaluation.PIECE_VALUES[victim == null ? ChessPiece.PieceType.PAWN.ordinal()
+                : victim.getPieceType().ordinal()];
+        int score = 10 * victimValue
+                - Evaluation.PIECE_VALUES[board.getPiece(Move.from(move)).getPieceType().ordinal()] / 10;
+        ChessPiece.PieceType promotion = Move.promotion(move);
+        return promotion == null ? score : score + Evaluation.PIECE_VALUES[promotion.ordinal()];
+    }
+
+    /**
+     * A capture loses material if the exchange it starts does, see
+     * {@link StaticExchange}. Taking a piece worth at least the capturer
+     * cannot lose, so the exchange is only played out for the others.
+     */
+    private boolean isLosingCapture(int move) {
+        ChessBoard board = game.getBoard();
+        ChessPiece victim = board.getPiece(Move.to(move));
+        if (victim != null && Evaluation.PIECE_VALUES[victim.getPieceType().ordinal()]
+                >= Evaluation.PIECE_VALUES[board.getPiece(Move.from(move)).getPieceType().ordinal()]) {
+            return false;
+        }
+        return StaticExchange.evaluate(board, move) < 0;
+    }
+}
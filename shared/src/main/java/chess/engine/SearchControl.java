@@ -0,0 +1,42 @@
+package chess.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The state every thread of one search shares: the limits, the total node
+ * count and whether to stop
+ */
+final class SearchControl {
+
+    private final long deadline;
+    private final long nodeLimit;
+    private final AtomicLong nodes = new AtomicLong();
+    private volatile boolean stopped;
+
+    SearchControl(SearchLimits limits) {
+        deadline = limits.getTimeMillis() > 0 ? System.nanoTime() + limits.getTimeMillis() * 1_000_000
+                : Long.MAX_VALUE;
+        nodeLimit = limits.getNodes() > 0 ? limits.getNodes() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Adds to the node count and stops the search if a limit has been reached
+     */
+    void addNodes(long count) {
+        if (nodes.addAndGet(count) >= nodeLimit || System.nanoTime() >= deadline) {
+            stopped = true;
+        }
+    }
+
+    void stop() {
+        stopped = true;
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    long getNodes() {
+        return nodes.get();
+    }
+}
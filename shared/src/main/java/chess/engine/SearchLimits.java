@@ -0,0 +1,61 @@
+package chess.engine;
+
+/**
+ * When a search should stop: after a time, a number of nodes or a depth,
+ * whichever comes first. A limit of 0 means that limit is not used, but at
+ * least one must be set.
+ */
+public final class SearchLimits {
+
+    private final long timeMillis;
+    private final long nodes;
+    private final int depth;
+
+    /**
+     * @param timeMillis how long to search for, or 0 for no time limit
+     * @param nodes      how many nodes to search, or 0 for no node limit
+     * @param depth      how many plies deep to search, or 0 for no depth limit
+     * @throws IllegalArgumentException if a limit is negative or none is set
+     */
+    public SearchLimits(long timeMillis, long nodes, int depth) {
+        if (timeMillis < 0 || nodes < 0 || depth < 0 || timeMillis + nodes + depth == 0) {
+            throw new IllegalArgumentException("A search needs a time, node or depth limit");
+        }
+        this.timeMillis = timeMillis;
+        this.nodes = nodes;
+        this.depth = depth;
+    }
+
+    /**
+     * @return limits that stop the search after the given time
+     */
+    public static SearchLimits ofTime(long timeMillis) {
+        return new SearchLimits(timeMillis, 0, 0);
+    }
+
+    /**
+     * @return limits that stop the search after the given number of nodes
+     */
+    public static SearchLimits ofNodes(long nodes) {
+        return new SearchLimits(0, nodes, 0);
+    }
+
+    /**
+     * @return limits that stop the search after the given depth
+     */
+    public static SearchLimits ofDepth(int depth) {
+        return new SearchLimits(0, 0, depth);
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+}
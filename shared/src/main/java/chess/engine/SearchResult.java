@@ -0,0 +1,75 @@
+package chess.engine;
+
+import chess.ChessMove;
+
+/**
+ * What a search found: the best move, its score and how much searching it took
+ */
+public final class SearchResult {
+
+    private final ChessMove bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long timeMillis;
+
+    SearchResult(ChessMove bestMove, int score, int depth, long nodes, long timeMillis) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.timeMillis = timeMillis;
+    }
+
+    /**
+     * @return the best move found, or null if the team to move has no moves
+     */
+    public ChessMove getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * @return the score of the best move in centipawns for the team to move
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return true if the score is a forced checkmate, for either team
+     */
+    public boolean isMate() {
+        return Math.abs(score) >= Searcher.MATE - Searcher.MAX_PLY;
+    }
+
+    /**
+     * @return the deepest depth the search finished
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return how many positions every thread searched in total
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * @return the search speed over every thread
+     */
+    public long getNodesPerSecond() {
+        return nodes * 1000 / Math.max(timeMillis, 1);
+    }
+
+    @Override
+    public String toString() {
+        return "bestmove " + bestMove + " score " + score + " depth " + depth + " nodes " + nodes
+                + " time " + timeMillis + "ms";
+    }
+}
@@ -0,0 +1,228 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.MoveGenerator;
+import chess.MoveList;
+
+/**
+ * One thread's alpha-beta search. Each searcher owns its own copy of the game
+ * and plays moves into it with {@link ChessGame#doMove(int)} and
+ * {@link ChessGame#undoMove()}, sharing only the transposition table and the
+ * {@link SearchControl} with the other threads.
+ */
+final class Searcher {
+
+    static final int INFINITY = 32000;
+    static final int MATE = 31000;
+    static final int MAX_PLY = 100;
+
+    private static final int NODE_BATCH = 1024;
+
+    private final ChessGame game;
+    private final TranspositionTable table;
+    private final SearchControl control;
+    private final MoveList rootMoves = new MoveList();
+    private final MovePicker[] pickers = new MovePicker[MAX_PLY + 1];
+    private long nodes;
+
+    private int rootMove;
+    private int bestMove;
+    private int bestScore;
+    private int completedDepth;
+
+    Searcher(ChessGame game, TranspositionTable table, SearchControl control) {
+        this.game = game;
+        this.table = table;
+        this.control = control;
+        for (int i = 0; i < pickers.length; i++) {
+            pickers[i] = new MovePicker(game);
+        }
+    }
+
+    /**
+     * Searches one depth deeper at a time until the control stops it or the
+     * last depth is done. Only iterations that finish update the best move.
+     *
+     * @param firstDepth the depth to start at
+     * @param lastDepth  the deepest depth to search
+     */
+    void iterate(int firstDepth, int lastDepth) {
+        rootMoves.clear();
+        MoveGenerator.generateLegalMoves(game, game.getTeamTurn(), -1L, rootMoves);
+        if (rootMoves.isEmpty()) {
+            bestScore = inCheck() ? -MATE : 0;
+            return;
+        }
+        bestMove = rootMoves.get(0);
+        for (int depth = firstDepth; depth <= lastDepth && !control.isStopped(); depth++) {
+            int score = search(depth, -INFINITY, INFINITY, 0);
+            if (control.isStopped()) {
+                break;
+            }
+            bestMove = rootMove;
+            bestScore = score;
+            completedDepth = depth;
+            if (Math.abs(score) >= MATE - MAX_PLY) {
+                break;
+            }
+        }
+        control.addNodes(nodes % NODE_BATCH);
+    }
+
+    int getBestMove() {
+        return bestMove;
+    }
+
+    int getBestScore() {
+        return bestScore;
+    }
+
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    private int search(int depth, int alpha, int beta, int ply) {
+        if (ply > 0 && (game.getHalfmoveClock() >= 100 || game.countRepetitions() > 0)) {
+            return 0;
+        }
+        boolean inCheck = inCheck();
+        if (inCheck) {
+            depth++;
+        }
+        if (depth <= 0) {
+            return quiesce(alpha, beta, ply);
+        }
+        if (ply >= MAX_PLY) {
+            return Evaluation.evaluate(game);
+        }
+        countNode();
+
+        long key = game.getPositionKey();
+        long entry = table.probe(key);
+        int hashMove = TranspositionTable.move(entry);
+        if (entry != 0 && ply > 0 && TranspositionTable.depth(entry) >= depth) {
+            int score = fromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT
+                    || bound == TranspositionTable.LOWER_BOUND && score >= beta
+                    || bound == TranspositionTable.UPPER_BOUND && score <= alpha) {
+                return score;
+            }
+        }
+
+        MovePicker picker = pickers[ply];
+        picker.reset(hashMove, true);
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestHere = 0;
+        for (int move = picker.next(); move != 0; move = picker.next()) {
+            game.doMove(move);
+            int score = -search(depth - 1, -beta, -alpha, ply + 1);
+            game.undoMove();
+            if (control.isStopped()) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestHere = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (bestHere == 0) {
+            return inCheck ? -MATE + ply : 0;
+        }
+
+        int bound = best >= beta ? TranspositionTable.LOWER_BOUND
+                : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+        table.store(key, bestHere, toTable(best, ply), depth, bound);
+        if (ply == 0) {
+            rootMove = bestHere;
+        }
+        return best;
+    }
+
+    /**
+     * Searches only captures and promotions until the position is quiet, so
+     * the static evaluation is never taken in the middle of an exchange.
+     * Captures that lose material are left out. When in check every evasion
+     * is searched instead.
+     */
+    private int quiesce(int alpha, int beta, int ply) {
+        countNode();
+        if (ply >= MAX_PLY) {
+            return Evaluation.evaluate(game);
+        }
+        boolean inCheck = inCheck();
+        int best = -INFINITY;
+        if (!inCheck) {
+            best = Evaluation.evaluate(game);
+            if (best >= beta) {
+                return best;
+            }
+            alpha = Math.max(alpha, best);
+        }
+
+        MovePicker picker = pickers[ply];
+        picker.reset(0, inCheck);
+        for (int move = picker.next(); move != 0; move = picker.next()) {
+            if (!inCheck && picker.isPickingLosingCaptures()) {
+                break;
+            }
+            game.doMove(move);
+            int score = -quiesce(-beta, -alpha, ply + 1);
+            game.undoMove();
+            if (control.isStopped()) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best == -INFINITY ? -MATE + ply : best;
+    }
+
+    private boolean inCheck() {
+        ChessBoard board = game.getBoard();
+        ChessGame.TeamColor turn = game.getTeamTurn();
+        long king = board.getPieces(turn, ChessPiece.PieceType.KING);
+        return king != 0 && (board.attackersTo(Long.numberOfTrailingZeros(king), board.getOccupied())
+                & board.getPieces(turn.opponent())) != 0;
+    }
+
+    private void countNode() {
+        if (++nodes % NODE_BATCH == 0) {
+            control.addNodes(NODE_BATCH);
+        }
+    }
+
+    /**
+     * Mate scores are stored counted from the position rather than from the
+     * root, so they stay right when the position is reached at another ply
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score + ply;
+        }
+        return score <= -MATE + MAX_PLY ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score - ply;
+        }
+        return score <= -MATE + MAX_PLY ? score + ply : score;
+    }
+}
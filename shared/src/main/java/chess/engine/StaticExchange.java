@@ -0,0 +1,191 @@
+package chess.engine;
+
+import chess.Bitboards;
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.Move;
+import chess.SlidingAttacks;
+
+/**
+ * Static exchange evaluation: works out how much material a capture wins once
+ * both teams have made every recapture on the square that pays for them,
+ * without playing any moves on the board.
+ * <p>
+ * The attackers of the square are kept as one bitboard. Each turn the
+ * cheapest attacker of the team to capture is taken off it, and the sliding
+ * pieces lined up behind it ("x-rays") are added, since they now see the
+ * square. Either team may stop capturing whenever going on would lose. A
+ * pawn capturing onto the last row counts as a queen from then on. Pins are
+ * not considered, and a king only captures when nothing can take it back.
+ */
+public final class StaticExchange {
+
+    private static final ChessPiece.PieceType[] CHEAPEST_FIRST = {
+            ChessPiece.PieceType.PAWN, ChessPiece.PieceType.KNIGHT, ChessPiece.PieceType.BISHOP,
+            ChessPiece.PieceType.ROOK, ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.KING,
+    };
+
+    private static final int PROMOTION_GAIN = value(ChessPiece.PieceType.QUEEN) - value(ChessPiece.PieceType.PAWN);
+
+    // Each thread's searchers run one exchange at a time, so the gains can be
+    // kept in a per-thread array rather than allocated for every capture
+    private static final ThreadLocal<int[]> GAINS = ThreadLocal.withInitial(() -> new int[32]);
+
+    private StaticExchange() {
+
+    }
+
+    /**
+     * @param board the position before the move
+     * @param move  a packed capture, see {@link Move}, which may be en passant
+     *              or a promotion
+     * @return the material the moving team wins in centipawns, negative if
+     * the capture loses material
+     */
+    public static int evaluate(ChessBoard board, int move) {
+        int from = Move.from(move);
+        int to = Move.to(move);
+        ChessPiece attacker = board.getPiece(from);
+        ChessPiece victim = board.getPiece(to);
+        long occupied = board.getOccupied() ^ Bitboards.bit(from);
+
+        int gain;
+        if (victim != null) {
+            gain = value(victim.getPieceType());
+        } else if (attacker.getPieceType() == ChessPiece.PieceType.PAWN && (to - from) % 8 != 0) {
+            gain = value(ChessPiece.PieceType.PAWN);
+            occupied ^= Bitboards.bit(attacker.getTeamColor() == ChessGame.TeamColor.WHITE ? to - 8 : to + 8);
+        } else {
+            gain = 0;
+        }
+        int onSquare = value(attacker.getPieceType());
+        ChessPiece.PieceType promotion = Move.promotion(move);
+        if (promotion != null) {
+            gain += value(promotion) - onSquare;
+            onSquare = value(promotion);
+        }
+        return exchange(board, to, occupied, attacker.getTeamColor().opponent(), gain, onSquare);
+    }
+
+    /**
+     * Finds how much the enemy can win by capturing the piece on a square,
+     * e.g. to warn that a piece is hanging
+     *
+     * @param board  the position
+     * @param square the square of the piece that may be lost
+     * @return the material the enemy wins by starting captures on the square
+     * with its best first capture, or 0 if the piece is safe
+     */
+    public static int threat(ChessBoard board, int square) {
+        ChessPiece piece = board.getPiece(square);
+        if (piece == null) {
+            return 0;
+        }
+        ChessGame.TeamColor enemy = piece.getTeamColor().opponent();
+        long occupied = board.getOccupied();
+        long attackers = board.attackersTo(square, occupied) & board.getPieces(enemy);
+        for (ChessPiece.PieceType type : CHEAPEST_FIRST) {
+            long candidates = attackers & board.getPieces(enemy, type);
+            if (candidates != 0) {
+                if (type == ChessPiece.PieceType.KING && (board.attackersTo(square, occupied)
+                        & board.getPieces(piece.getTeamColor())) != 0) {
+                    return 0;
+                }
+                int gain = value(piece.getPieceType());
+                int onSquare = value(type);
+                if (promotes(type, square)) {
+                    gain += PROMOTION_GAIN;
+                    onSquare = value(ChessPiece.PieceType.QUEEN);
+                }
+                return Math.max(0, exchange(board, square, occupied ^ (candidates & -candidates),
+                        piece.getTeamColor(), gain, onSquare));
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Plays out the captures on a square after a first capture
+     *
+     * @param occupied the squares still occupied after the first capture
+     * @param side     the team to capture next
+     * @param gain     what the first capture won
+     * @param onSquare the value of the piece now standing on the square
+     * @return what the first capture wins once the exchange is over
+     */
+    private static int exchange(ChessBoard board, int square, long occupied, ChessGame.TeamColor side,
+                                int gain, int onSquare) {
+        long diagonals = board.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP)
+                | board.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP)
+                | board.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN)
+                | board.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN);
+        long straights = board.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK)
+                | board.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK)
+                | board.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN)
+                | board.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN);
+        long attackers = board.attackersTo(square, occupied) & occupied;
+
+        // gains[d] is what the team making capture d has won if the exchange
+        // stops after it
+        int[] gains = GAINS.get();
+        gains[0] = gain;
+        int depth = 0;
+        while (depth < gains.length - 1) {
+            long ours = attackers & board.getPieces(side);
+            if (ours == 0) {
+                break;
+            }
+            ChessPiece.PieceType type = cheapest(board, side, ours);
+            if (type == ChessPiece.PieceType.KING && (attackers & board.getPieces(side.opponent())) != 0) {
+                break;
+            }
+            long bit = ours & board.getPieces(side, type);
+            bit &= -bit;
+            depth++;
+            gains[depth] = onSquare - gains[depth - 1];
+            onSquare = value(type);
+            if (promotes(type, square)) {
+                gains[depth] += PROMOTION_GAIN;
+                onSquare = value(ChessPiece.PieceType.QUEEN);
+            }
+
+            occupied ^= bit;
+            if (type == ChessPiece.PieceType.PAWN || type == ChessPiece.PieceType.BISHOP
+                    || type == ChessPiece.PieceType.QUEEN) {
+                attackers |= SlidingAttacks.bishopAttacks(square, occupied) & diagonals;
+            }
+            if (type == ChessPiece.PieceType.ROOK || type == ChessPiece.PieceType.QUEEN) {
+                attackers |= SlidingAttacks.rookAttacks(square, occupied) & straights;
+            }
+            attackers &= occupied;
+            side = side.opponent();
+        }
+        // Each team only makes its capture if that beats stopping
+        while (depth > 0) {
+            gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+            depth--;
+        }
+        return gains[0];
+    }
+
+    private static ChessPiece.PieceType cheapest(ChessBoard board, ChessGame.TeamColor side, long attackers) {
+        for (ChessPiece.PieceType type : CHEAPEST_FIRST) {
+            if ((attackers & board.getPieces(side, type)) != 0) {
+                return type;
+            }
+        }
+        throw new IllegalStateException("No attacker");
+    }
+
+    /**
+     * A pawn can only reach the first or last row by promoting
+     */
+    private static boolean promotes(ChessPiece.PieceType type, int square) {
+        return type == ChessPiece.PieceType.PAWN && (Bitboards.row(square) == 1 || Bitboards.row(square) == 8);
+    }
+
+    private static int value(ChessPiece.PieceType type) {
+        return Evaluation.PIECE_VALUES[type.ordinal()];
+    }
+}
@@ -0,0 +1,103 @@
+package chess.engine;
+
+import java.util.Arrays;
+
+/**
+ * A table of search results keyed by position key, shared by every thread of
+ * a search. Each entry holds the best move found, the score, the depth it was
+ * searched to and whether the score is exact or a bound.
+ * <p>
+ * The table is written without locks. Each entry is stored as its data next
+ * to the data XORed with the key, so an entry torn by two threads writing at
+ * once fails the key check on the next probe and is treated as a miss.
+ */
+public final class TranspositionTable {
+
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+
+    private static final long PRESENT = 1L << 62;
+
+    private final long[] checks;
+    private final long[] entries;
+    private final int mask;
+
+    /**
+     * @param megabytes roughly how much memory to use, rounded down to a power
+     *                  of two number of entries
+     */
+    public TranspositionTable(int megabytes) {
+        int size = Integer.highestOneBit(Math.max((int) Math.min(megabytes * (1L << 20) / 16, 1 << 30), 1));
+        checks = new long[size];
+        entries = new long[size];
+        mask = size - 1;
+    }
+
+    /**
+     * @param key a position key
+     * @return the entry for the position, or 0 if there is none
+     */
+    public long probe(long key) {
+        int slot = (int) key & mask;
+        long entry = entries[slot];
+        return (checks[slot] ^ entry) == key && (entry & PRESENT) != 0 ? entry : 0L;
+    }
+
+    /**
+     * Stores a search result, replacing whatever the slot held unless it is a
+     * deeper result for the same position
+     *
+     * @param move  the best packed move found, or 0 for none
+     * @param score the score, with mate scores counted from this position
+     * @param depth how many plies deep the position was searched
+     * @param bound {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int slot = (int) key & mask;
+        long old = entries[slot];
+        if ((checks[slot] ^ old) == key && depth(old) > depth && bound != EXACT) {
+            return;
+        }
+        long entry = PRESENT | (move & 0xFFFFL) | (score & 0xFFFFL) << 16 | (long) (depth & 0xFF) << 32
+                | (long) bound << 40;
+        entries[slot] = entry;
+        checks[slot] = key ^ entry;
+    }
+
+    /**
+     * Empties the table
+     */
+    public void clear() {
+        Arrays.fill(checks, 0L);
+        Arrays.fill(entries, 0L);
+    }
+
+    /**
+     * @return the packed best move of an entry, or 0 for none
+     */
+    public static int move(long entry) {
+        return (int) (entry & 0xFFFF);
+    }
+
+    /**
+     * @return the score of an entry
+     */
+    public static int score(long entry) {
+        return (short) (entry >>> 16);
+    }
+
+    /**
+     * @return the depth of an entry
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> 32) & 0xFF;
+    }
+
+    /**
+     * @return the bound of an entry
+     */
+    public static int bound(long entry) {
+        return (int) (entry >>> 40) & 3;
+    }
+}
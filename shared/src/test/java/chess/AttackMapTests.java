@@ -0,0 +1,48 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class AttackMapTests {
+
+    @ParameterizedTest
+    @EnumSource(PerftPosition.class)
+    @DisplayName("Attack Maps Follow Moves")
+    public void attackMapsFollowMoves(PerftPosition position) {
+        ChessGame game = position.newGame();
+        game.getBoard().isSquareAttacked(0, ChessGame.TeamColor.WHITE);
+        PositionWalker.walk(game, 3, walked -> assertMapsMatch(walked.getBoard()));
+    }
+
+    @Test
+    @DisplayName("Attack Maps Follow Board Edits")
+    public void attackMapsFollowBoardEdits() {
+        var board = new ChessBoard();
+        board.resetBoard();
+        int c4 = Bitboards.square(4, 3);
+        Assertions.assertFalse(board.isSquareAttacked(c4, ChessGame.TeamColor.WHITE));
+        board.addPiece(Bitboards.square(2, 5), null);
+        Assertions.assertEquals(1, board.getAttackerCount(c4, ChessGame.TeamColor.WHITE), "Bishop sees c4");
+        board.addPiece(Bitboards.square(3, 4), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        Assertions.assertEquals(0, board.getAttackerCount(c4, ChessGame.TeamColor.WHITE), "Rook blocks the bishop");
+        Assertions.assertEquals(1, board.getAttackerCount(Bitboards.square(2, 4), ChessGame.TeamColor.BLACK));
+        assertMapsMatch(board);
+    }
+
+    private static void assertMapsMatch(ChessBoard board) {
+        long occupied = board.getOccupied();
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            Assertions.assertEquals(MoveGenerator.attackedSquares(board, color, occupied), board.getAttacks(color),
+                    "Wrong attack map for " + color);
+            for (int square = 0; square < 64; square++) {
+                long attackers = board.attackersTo(square, occupied);
+                Assertions.assertEquals(attackers, board.attackersTo(square));
+                Assertions.assertEquals(Long.bitCount(attackers & board.getPieces(color)),
+                        board.getAttackerCount(square, color), "Wrong attacker count");
+            }
+        }
+    }
+}
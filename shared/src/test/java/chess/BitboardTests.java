@@ -0,0 +1,43 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static chess.ChessGame.TeamColor.BLACK;
+import static chess.ChessGame.TeamColor.WHITE;
+
+public class BitboardTests {
+
+    @Test
+    @DisplayName("Reset Board Bitboards")
+    public void resetBoardBitboards() {
+        var board = new ChessBoard();
+        board.resetBoard();
+
+        Assertions.assertEquals(0xFFFFL, board.getPieces(WHITE), "White should fill rows 1 and 2");
+        Assertions.assertEquals(0xFFFFL << 48, board.getPieces(BLACK), "Black should fill rows 7 and 8");
+        Assertions.assertEquals(0xFF00L, board.getPieces(WHITE, ChessPiece.PieceType.PAWN));
+        Assertions.assertEquals(Bitboards.bit(Bitboards.square(8, 5)),
+                board.getPieces(BLACK, ChessPiece.PieceType.KING));
+    }
+
+    @Test
+    @DisplayName("Replace and Remove Piece")
+    public void replaceAndRemovePiece() {
+        var board = new ChessBoard();
+        var position = new ChessPosition(4, 4);
+        long bit = Bitboards.bit(Bitboards.square(position));
+
+        board.addPiece(position, new ChessPiece(WHITE, ChessPiece.PieceType.ROOK));
+        board.addPiece(position, new ChessPiece(BLACK, ChessPiece.PieceType.KNIGHT));
+        Assertions.assertEquals(0L, board.getPieces(WHITE), "Replaced piece was left on its bitboard");
+        Assertions.assertEquals(bit, board.getPieces(BLACK, ChessPiece.PieceType.KNIGHT));
+        Assertions.assertEquals(new ChessPiece(BLACK, ChessPiece.PieceType.KNIGHT), board.getPiece(position));
+
+        board.addPiece(position, null);
+        Assertions.assertNull(board.getPiece(position));
+        Assertions.assertEquals(0L, board.getOccupied());
+        Assertions.assertEquals(new ChessBoard(), board);
+    }
+}
@@ -0,0 +1,39 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BoardSnapshotTests {
+
+    @Test
+    @DisplayName("Snapshot Is Reused Until the Board Changes")
+    public void snapshotReusedUntilChange() {
+        var board = new ChessBoard();
+        board.resetBoard();
+        BoardSnapshot snapshot = board.snapshot();
+        Assertions.assertSame(snapshot, board.snapshot());
+
+        board.addPiece(ChessPosition.of(2, 5), null);
+        Assertions.assertNotSame(snapshot, board.snapshot());
+        Assertions.assertEquals(ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN),
+                snapshot.getPiece(ChessPosition.of(2, 5)), "Snapshot changed with the board");
+        Assertions.assertNull(board.snapshot().getPiece(ChessPosition.of(2, 5)));
+    }
+
+    @Test
+    @DisplayName("Snapshot Survives Moves")
+    public void snapshotSurvivesMoves() {
+        ChessGame game = PerftPosition.KIWIPETE.newGame();
+        var copy = new ChessBoard(game.getBoard());
+        BoardSnapshot snapshot = game.getBoard().snapshot();
+        for (int ply = 0; ply < 6; ply++) {
+            game.doMove(game.validMoves(game.getTeamTurn()).iterator().next());
+        }
+        Assertions.assertEquals(copy, snapshot.toBoard());
+        Assertions.assertEquals(copy.getZobristKey(), snapshot.getZobristKey());
+        for (int square = 0; square < 64; square++) {
+            Assertions.assertEquals(copy.getPiece(square), snapshot.getPiece(square));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package chess;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class ChessJsonTests {
+
+    private final Gson gson = ChessJson.gson();
+
+    @Test
+    @DisplayName("Compact Forms")
+    public void compactForms() {
+        var move = new ChessMove(ChessPosition.of(7, 5), ChessPosition.of(8, 5), ChessPiece.PieceType.QUEEN);
+        Assertions.assertEquals("\"e7e8q\"", gson.toJson(move));
+        Assertions.assertEquals("\"N\"",
+                gson.toJson(ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT)));
+        Assertions.assertEquals("\"e2\"", gson.toJson(ChessPosition.of(2, 5)));
+        var board = new ChessBoard();
+        board.resetBoard();
+        Assertions.assertEquals("\"rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR\"", gson.toJson(board));
+        Assertions.assertEquals("{\"fen\":\"" + Fen.START + "\"}", gson.toJson(new ChessGame()));
+    }
+
+    @Test
+    @DisplayName("Round Trip")
+    public void roundTrip() throws InvalidMoveException {
+        ChessGame game = PerftPosition.KIWIPETE.newGame();
+        game.makeMove(new ChessMove(ChessPosition.of(1, 5), ChessPosition.of(1, 7), null));
+        ChessGame decoded = gson.fromJson(gson.toJson(game), ChessGame.class);
+        Assertions.assertEquals(game, decoded);
+        Assertions.assertEquals(game.getBoard(), gson.fromJson(gson.toJson(game.getBoard()), ChessBoard.class));
+
+        List<ChessMove> moves = List.copyOf(game.validMoves(game.getTeamTurn()));
+        ChessMove[] decodedMoves = gson.fromJson(gson.toJson(moves), ChessMove[].class);
+        Assertions.assertEquals(moves, List.of(decodedMoves));
+        Assertions.assertNull(gson.fromJson("null", ChessMove.class));
+    }
+
+    @Test
+    @DisplayName("Repetition History Survives")
+    public void repetitionHistorySurvives() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(new ChessMove(ChessPosition.of(1, 7), ChessPosition.of(3, 6), null));
+        game.makeMove(new ChessMove(ChessPosition.of(8, 7), ChessPosition.of(6, 6), null));
+        game.makeMove(new ChessMove(ChessPosition.of(3, 6), ChessPosition.of(1, 7), null));
+        game.makeMove(new ChessMove(ChessPosition.of(6, 6), ChessPosition.of(8, 7), null));
+
+        ChessGame decoded = gson.fromJson(gson.toJson(game), ChessGame.class);
+        Assertions.assertEquals(1, decoded.countRepetitions());
+    }
+
+    @Test
+    @DisplayName("Bad Json Is Rejected")
+    public void badJsonRejected() {
+        Assertions.assertThrows(JsonParseException.class, () -> gson.fromJson("\"e9e4\"", ChessMove.class));
+        Assertions.assertThrows(JsonParseException.class, () -> gson.fromJson("\"e2e4x\"", ChessMove.class));
+        Assertions.assertThrows(JsonParseException.class, () -> gson.fromJson("\"8/8\"", ChessBoard.class));
+        Assertions.assertThrows(JsonParseException.class, () -> gson.fromJson("{}", ChessGame.class));
+    }
+}
@@ -0,0 +1,101 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class DrawTests {
+
+    @Test
+    @DisplayName("Threefold Repetition")
+    public void threefoldRepetition() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        for (int cycle = 0; cycle < 2; cycle++) {
+            Assertions.assertFalse(game.isThreefoldRepetition(), "Repetition reported too early");
+            shuffleKnights(game);
+        }
+        Assertions.assertTrue(game.isThreefoldRepetition());
+        Assertions.assertTrue(game.isDraw());
+
+        game.undoMove();
+        Assertions.assertFalse(game.isThreefoldRepetition(), "Repetition kept after undo");
+    }
+
+    @Test
+    @DisplayName("Pawn Move Resets Repetition")
+    public void pawnMoveResetsRepetition() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        shuffleKnights(game);
+        game.makeMove(new ChessMove(ChessPosition.of(2, 1), ChessPosition.of(3, 1), null));
+        game.makeMove(new ChessMove(ChessPosition.of(7, 1), ChessPosition.of(6, 1), null));
+        Assertions.assertEquals(0, game.getHalfmoveClock());
+        shuffleKnights(game);
+        shuffleKnights(game);
+        Assertions.assertTrue(game.isThreefoldRepetition());
+        Assertions.assertEquals(8, game.getHalfmoveClock());
+    }
+
+    @Test
+    @DisplayName("Fifty Move Rule")
+    public void fiftyMoveRule() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        for (int cycle = 0; cycle < 25; cycle++) {
+            Assertions.assertFalse(game.isFiftyMoveDraw(), "Fifty-move draw reported too early");
+            shuffleKnights(game);
+        }
+        Assertions.assertEquals(100, game.getHalfmoveClock());
+        Assertions.assertTrue(game.isFiftyMoveDraw());
+        game.undoMove();
+        Assertions.assertEquals(99, game.getHalfmoveClock());
+        Assertions.assertFalse(game.isFiftyMoveDraw());
+    }
+
+    @Test
+    @DisplayName("Insufficient Material")
+    public void insufficientMaterial() {
+        Assertions.assertTrue(boardWith("Kk").hasInsufficientMaterial(), "King against king");
+        Assertions.assertTrue(boardWith("KBk").hasInsufficientMaterial(), "King and bishop against king");
+        Assertions.assertTrue(boardWith("Kkn").hasInsufficientMaterial(), "King against king and knight");
+        Assertions.assertFalse(boardWith("KNkn").hasInsufficientMaterial(), "Knights can still mate");
+        Assertions.assertFalse(boardWith("KPk").hasInsufficientMaterial(), "Pawns can promote");
+        Assertions.assertFalse(boardWith("KRk").hasInsufficientMaterial(), "Rooks can mate");
+
+        var board = boardWith("Kk");
+        board.addPiece(ChessPosition.of(1, 3), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        board.addPiece(ChessPosition.of(8, 6), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        Assertions.assertTrue(board.hasInsufficientMaterial(), "Bishops on the same color cannot mate");
+        board.addPiece(ChessPosition.of(8, 6), null);
+        board.addPiece(ChessPosition.of(8, 3), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        Assertions.assertFalse(board.hasInsufficientMaterial(), "Bishops on both colors can mate");
+
+        ChessGame game = new ChessGame();
+        game.setBoard(boardWith("KBk"));
+        Assertions.assertTrue(game.isDraw());
+    }
+
+    private static ChessBoard boardWith(String pieces) {
+        var board = new ChessBoard();
+        int column = 1;
+        for (char c : pieces.toCharArray()) {
+            ChessGame.TeamColor color = Character.isUpperCase(c) ? ChessGame.TeamColor.WHITE
+                    : ChessGame.TeamColor.BLACK;
+            ChessPiece.PieceType type = switch (Character.toLowerCase(c)) {
+                case 'k' -> ChessPiece.PieceType.KING;
+                case 'b' -> ChessPiece.PieceType.BISHOP;
+                case 'n' -> ChessPiece.PieceType.KNIGHT;
+                case 'r' -> ChessPiece.PieceType.ROOK;
+                default -> ChessPiece.PieceType.PAWN;
+            };
+            board.addPiece(ChessPosition.of(color == ChessGame.TeamColor.WHITE ? 2 : 7, column++),
+                    ChessPiece.of(color, type));
+        }
+        return board;
+    }
+
+    private static void shuffleKnights(ChessGame game) throws InvalidMoveException {
+        game.makeMove(new ChessMove(ChessPosition.of(1, 7), ChessPosition.of(3, 6), null));
+        game.makeMove(new ChessMove(ChessPosition.of(8, 7), ChessPosition.of(6, 6), null));
+        game.makeMove(new ChessMove(ChessPosition.of(3, 6), ChessPosition.of(1, 7), null));
+        game.makeMove(new ChessMove(ChessPosition.of(6, 6), ChessPosition.of(8, 7), null));
+    }
+}
@@ -0,0 +1,59 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class FenTests {
+
+    @ParameterizedTest
+    @EnumSource(PerftPosition.class)
+    @DisplayName("Round Trip")
+    public void roundTrip(PerftPosition position) {
+        ChessGame game = Fen.parse(position.getFen());
+        Assertions.assertEquals(position.getFen(), Fen.format(game));
+        Assertions.assertEquals(game.getBoard(), Fen.parseBoard(Fen.formatBoard(game.getBoard())));
+    }
+
+    @Test
+    @DisplayName("Start Position Matches New Game")
+    public void startPositionMatchesNewGame() {
+        ChessGame game = Fen.parse(Fen.START);
+        Assertions.assertEquals(new ChessGame(), game);
+        Assertions.assertEquals(new ChessGame().getPositionKey(), game.getPositionKey());
+    }
+
+    @Test
+    @DisplayName("Moves Update Every Field")
+    public void movesUpdateEveryField() throws InvalidMoveException {
+        ChessGame game = Fen.parse("rnbqkbnr/ppp1pppp/8/8/3p4/8/PPPPPPPP/RNBQKBNR w KQkq - 0 3");
+        game.makeMove(new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null));
+        Assertions.assertEquals("rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 3", Fen.format(game));
+        game.makeMove(new ChessMove(ChessPosition.of(8, 7), ChessPosition.of(6, 6), null));
+        Assertions.assertEquals("rnbqkb1r/ppp1pppp/5n2/8/3pP3/8/PPPP1PPP/RNBQKBNR w KQkq - 1 4", Fen.format(game));
+        game.undoMove();
+        Assertions.assertEquals(3, game.getFullmoveNumber());
+    }
+
+    @Test
+    @DisplayName("Unusable Rights Are Dropped")
+    public void unusableRightsDropped() {
+        ChessGame game = Fen.parse("4k3/8/8/8/4P3/8/8/4K3 b KQkq e3 5 40");
+        Assertions.assertEquals("4k3/8/8/8/4P3/8/8/4K3 b - - 5 40", Fen.format(game));
+        Assertions.assertEquals("8/8/8/8/8/8/8/8 w - - 0 1", Fen.format(Fen.parse("8/8/8/8/8/8/8/8 w - -")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "8/8/8/8/8/8/8 w - - 0 1", "9/8/8/8/8/8/8/8 w - - 0 1", "8/8/8/8/8/8/8/8 x - - 0 1",
+            "8/8/8/8/8/8/8/7x w - - 0 1", "8/8/8/8/8/8/8/8 w KX - 0 1", "8/8/8/8/8/8/8/8 w - z9 0 1",
+            "8/8/8/8/8/8/8/8 w - - 0", "8/8/8/8/8/8/8/8 w - - 0 1 extra", "8/8/8/8/8/8/8/K6k w",
+            "8/8/8/8/8/8/8/K6k w ", "8/8/8/8/8/8/8/K6k w - ", "8/8/8/8/8/8/8/K6k w - - 0 ", "8/8/8/8/8/8/8/K6k ",
+            "4k3/8/8/8/8/8/3PP3/4K3 w - e3 0 1", "8/8/8/3Pk3/8/8/8/4K3 w - e6 0 1"})
+    @DisplayName("Bad FEN Is Rejected")
+    public void badFenRejected(String fen) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Fen.parse(fen));
+    }
+}
@@ -0,0 +1,44 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class FlyweightTests {
+
+    @Test
+    @DisplayName("Positions Are Shared")
+    public void positionsAreShared() {
+        for (int square = 0; square < 64; square++) {
+            ChessPosition position = ChessPosition.of(square);
+            Assertions.assertSame(position, ChessPosition.of(position.getRow(), position.getColumn()));
+            Assertions.assertEquals(new ChessPosition(position.getRow(), position.getColumn()), position);
+            Assertions.assertEquals(square, position.getSquare());
+        }
+        Assertions.assertEquals(new ChessPosition(0, 9), ChessPosition.of(0, 9));
+    }
+
+    @Test
+    @DisplayName("Pieces Are Shared")
+    public void piecesAreShared() {
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            for (ChessPiece.PieceType type : ChessPiece.PieceType.values()) {
+                ChessPiece piece = ChessPiece.of(color, type);
+                Assertions.assertSame(piece, ChessPiece.of(color, type));
+                Assertions.assertEquals(new ChessPiece(color, type), piece);
+                Assertions.assertEquals(new ChessPiece(color, type).hashCode(), piece.hashCode());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Square Index Access")
+    public void squareIndexAccess() {
+        var board = new ChessBoard();
+        board.addPiece(Bitboards.square(4, 5), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
+        Assertions.assertSame(board.getPiece(Bitboards.square(4, 5)), board.getPiece(ChessPosition.of(4, 5)));
+        board.addPiece(Bitboards.square(4, 5), null);
+        Assertions.assertNull(board.getPiece(ChessPosition.of(4, 5)));
+        Assertions.assertEquals(new ChessBoard(), board);
+    }
+}
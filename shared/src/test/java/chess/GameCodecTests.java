@@ -0,0 +1,89 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.ByteBuffer;
+
+public class GameCodecTests {
+
+    @ParameterizedTest
+    @EnumSource(PerftPosition.class)
+    @DisplayName("Round Trip")
+    public void roundTrip(PerftPosition position) {
+        ChessGame game = position.newGame();
+        byte[] data = GameCodec.encode(game);
+        Assertions.assertEquals(40, data.length);
+
+        ChessGame decoded = GameCodec.decode(data);
+        Assertions.assertEquals(game.getBoard(), decoded.getBoard());
+        Assertions.assertEquals(game, decoded);
+        Assertions.assertEquals(game.getPositionKey(), decoded.getPositionKey());
+        Assertions.assertEquals(Fen.format(game), Fen.format(decoded));
+    }
+
+    @Test
+    @DisplayName("Repetition History Survives")
+    public void repetitionHistorySurvives() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        for (int cycle = 0; cycle < 2; cycle++) {
+            game.makeMove(new ChessMove(ChessPosition.of(1, 7), ChessPosition.of(3, 6), null));
+            game.makeMove(new ChessMove(ChessPosition.of(8, 7), ChessPosition.of(6, 6), null));
+            game.makeMove(new ChessMove(ChessPosition.of(3, 6), ChessPosition.of(1, 7), null));
+            if (cycle == 0) {
+                game.makeMove(new ChessMove(ChessPosition.of(6, 6), ChessPosition.of(8, 7), null));
+            }
+        }
+        Assertions.assertFalse(game.isThreefoldRepetition());
+
+        ByteBuffer buffer = ByteBuffer.allocate(GameCodec.encodedSize(game) + 3);
+        buffer.put((byte) 7);
+        GameCodec.encode(game, buffer);
+        Assertions.assertEquals(buffer.capacity() - 2, buffer.position());
+        buffer.flip();
+        buffer.get();
+        ChessGame decoded = GameCodec.decode(buffer);
+        Assertions.assertFalse(buffer.hasRemaining());
+
+        decoded.makeMove(new ChessMove(ChessPosition.of(6, 6), ChessPosition.of(8, 7), null));
+        Assertions.assertTrue(decoded.isThreefoldRepetition(), "History was lost");
+        Assertions.assertEquals(8, decoded.getHalfmoveClock());
+        Assertions.assertEquals(5, decoded.getFullmoveNumber());
+    }
+
+    @Test
+    @DisplayName("Bad Data Is Rejected")
+    public void badDataRejected() {
+        byte[] data = GameCodec.encode(new ChessGame());
+        data[0] = 2;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(data));
+        data[0] = GameCodec.VERSION;
+        data[1] = (byte) 0xDD;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(data));
+
+        byte[] game = GameCodec.encode(new ChessGame());
+        game[34] = 100;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(game),
+                "En passant square off the board");
+        game[34] = (byte) Bitboards.square(4, 5);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(game),
+                "En passant square on row 4");
+        game[34] = (byte) Bitboards.square(3, 5);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(game),
+                "En passant square on row 3 with white to move");
+
+        byte[] black = GameCodec.encode(Fen.parse("4k3/8/8/8/4P3/8/8/4K3 b - - 0 1"));
+        black[34] = (byte) Bitboards.square(3, 5);
+        GameCodec.decode(black);
+        black[34] = (byte) Bitboards.square(3, 4);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(black),
+                "No pawn behind the en passant square");
+        black[34] = (byte) Bitboards.square(3, 5);
+        black[33] ^= 1;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(black),
+                "En passant square on row 3 with white to move");
+    }
+}
@@ -0,0 +1,56 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class GameStatusTests {
+
+    @ParameterizedTest
+    @EnumSource(PerftPosition.class)
+    @DisplayName("Has Any Legal Move Matches Valid Moves")
+    public void hasAnyLegalMoveMatchesValidMoves(PerftPosition position) {
+        PositionWalker.walk(position.newGame(), 3, GameStatusTests::assertHasLegalMoveMatches);
+    }
+
+    @Test
+    @DisplayName("Cached Status Follows the Position")
+    public void cachedStatusFollowsPosition() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        Assertions.assertEquals(20, game.validMoves(ChessGame.TeamColor.WHITE).size());
+        Assertions.assertFalse(game.isInCheck(ChessGame.TeamColor.BLACK));
+
+        game.makeMove(new ChessMove(ChessPosition.of(2, 6), ChessPosition.of(3, 6), null));
+        game.makeMove(new ChessMove(ChessPosition.of(7, 5), ChessPosition.of(5, 5), null));
+        game.makeMove(new ChessMove(ChessPosition.of(2, 7), ChessPosition.of(4, 7), null));
+        Assertions.assertFalse(game.isInCheck(ChessGame.TeamColor.WHITE));
+        Assertions.assertFalse(game.isInCheckmate(ChessGame.TeamColor.WHITE));
+        game.makeMove(new ChessMove(ChessPosition.of(8, 4), ChessPosition.of(4, 8), null));
+        Assertions.assertTrue(game.isInCheckmate(ChessGame.TeamColor.WHITE), "Status kept from before the move");
+        Assertions.assertTrue(game.validMoves(ChessGame.TeamColor.WHITE).isEmpty());
+
+        game.getBoard().addPiece(ChessPosition.of(4, 8), null);
+        Assertions.assertFalse(game.isInCheck(ChessGame.TeamColor.WHITE), "Status kept after editing the board");
+        Assertions.assertTrue(game.hasAnyLegalMove(ChessGame.TeamColor.WHITE));
+
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+        Assertions.assertThrows(InvalidMoveException.class,
+                () -> game.makeMove(new ChessMove(ChessPosition.of(1, 2), ChessPosition.of(3, 3), null)));
+        Assertions.assertEquals(2, game.validMoves(ChessPosition.of(7, 2)).size());
+        game.getBoard().addPiece(ChessPosition.of(6, 2),
+                ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        Assertions.assertTrue(game.validMoves(ChessPosition.of(7, 2)).isEmpty(), "Moves kept after blocking the pawn");
+    }
+
+    private static void assertHasLegalMoveMatches(ChessGame game) {
+        MoveList moves = new MoveList();
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            moves.clear();
+            MoveGenerator.generateLegalMoves(game, color, -1L, moves);
+            Assertions.assertEquals(!moves.isEmpty(), MoveGenerator.hasLegalMove(game, color),
+                    "Wrong answer for " + color + " at key " + Long.toHexString(game.getPositionKey()));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MoveCacheTests {
+
+    @Test
+    @DisplayName("Cached Moves Match Generated Moves")
+    public void cachedMovesMatch() {
+        var cache = new MoveCache(1024);
+        ChessGame game = PerftPosition.KIWIPETE.newGame();
+        var moves = new MoveList();
+        MoveGenerator.generateLegalMoves(game, game.getTeamTurn(), -1L, moves);
+
+        long occupied = game.getBoard().getOccupied();
+        Assertions.assertNull(cache.get(game.getPositionKey(), occupied));
+        cache.put(game.getPositionKey(), occupied, moves, false);
+        MoveCache.Entry entry = cache.get(game.getPositionKey(), occupied);
+        Assertions.assertNotNull(entry);
+        Assertions.assertEquals(48, entry.size());
+        for (int i = 0; i < entry.size(); i++) {
+            Assertions.assertEquals(moves.get(i), entry.get(i));
+        }
+        Assertions.assertFalse(entry.isCheckmate() || entry.isStalemate());
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Full Cache Evicts Old Positions")
+    public void fullCacheEvicts() {
+        var cache = new MoveCache(1);
+        var moves = new MoveList();
+        for (long key = 1; key <= 10_000; key++) {
+            cache.put(key * 0x9E3779B97F4A7C15L, key, moves, true);
+        }
+        int found = 0;
+        for (long key = 1; key <= 10_000; key++) {
+            MoveCache.Entry entry = cache.get(key * 0x9E3779B97F4A7C15L, key);
+            if (entry != null) {
+                Assertions.assertTrue(entry.isCheckmate());
+                found++;
+            }
+        }
+        Assertions.assertTrue(found > 0 && found <= cache.capacity(), "Cache held " + found + " positions");
+        cache.clear();
+        Assertions.assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    @DisplayName("Colliding Keys Do Not Share Moves")
+    public void collidingKeysMiss() {
+        var cache = new MoveCache(1024);
+        ChessGame game = PerftPosition.KIWIPETE.newGame();
+        var moves = new MoveList();
+        MoveGenerator.generateLegalMoves(game, game.getTeamTurn(), -1L, moves);
+        cache.put(game.getPositionKey(), game.getBoard().getOccupied(), moves, false);
+
+        ChessGame other = new ChessGame();
+        Assertions.assertNull(cache.get(game.getPositionKey(), other.getBoard().getOccupied()));
+        Assertions.assertNotNull(cache.get(game.getPositionKey(), game.getBoard().getOccupied()));
+    }
+
+    @Test
+    @DisplayName("Games Share Cached Moves")
+    public void gamesShareCachedMoves() {
+        long hits = MoveCache.shared().getHits();
+        Assertions.assertEquals(20, new ChessGame().validMoves(ChessGame.TeamColor.WHITE).size());
+        Assertions.assertEquals(20, new ChessGame().validMoves(ChessGame.TeamColor.WHITE).size());
+        Assertions.assertTrue(MoveCache.shared().getHits() > hits, "Second game did not hit the cache");
+    }
+}
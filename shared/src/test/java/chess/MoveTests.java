@@ -0,0 +1,54 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MoveTests {
+
+    @Test
+    @DisplayName("Packed Moves Round Trip")
+    public void packedMovesRoundTrip() {
+        for (int from = 0; from < 64; from++) {
+            for (int to = 0; to < 64; to++) {
+                for (ChessPiece.PieceType promotion : new ChessPiece.PieceType[]{null, ChessPiece.PieceType.QUEEN,
+                        ChessPiece.PieceType.KNIGHT}) {
+                    var move = new ChessMove(new ChessPosition(Bitboards.row(from), Bitboards.column(from)),
+                            new ChessPosition(Bitboards.row(to), Bitboards.column(to)), promotion);
+                    int packed = Move.of(move);
+                    Assertions.assertTrue(packed >= 0 && packed < 1 << 15, "Packed move does not fit in a short");
+                    Assertions.assertEquals(move, Move.toChessMove(packed));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Move List Reuse")
+    public void moveListReuse() {
+        var list = new MoveList(2);
+        for (int i = 0; i < 5; i++) {
+            list.add(Move.of(i, i + 8, null));
+        }
+        Assertions.assertEquals(5, list.size());
+        Assertions.assertTrue(list.contains(Move.of(4, 12, null)));
+        list.clear();
+        Assertions.assertTrue(list.isEmpty());
+        Assertions.assertFalse(list.contains(Move.of(4, 12, null)), "Cleared list still reports old moves");
+    }
+
+    @Test
+    @DisplayName("Castling Needs The Rook")
+    public void castlingNeedsTheRook() {
+        ChessGame game = Fen.parse("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        ChessMove kingside = new ChessMove(ChessPosition.of(1, 5), ChessPosition.of(1, 7), null);
+        ChessMove queenside = new ChessMove(ChessPosition.of(1, 5), ChessPosition.of(1, 3), null);
+        Assertions.assertTrue(game.validMoves(ChessPosition.of(1, 5)).contains(kingside));
+
+        game.getBoard().addPiece(ChessPosition.of(1, 8), null);
+        Assertions.assertFalse(game.validMoves(ChessPosition.of(1, 5)).contains(kingside),
+                "Castled without the h1 rook");
+        Assertions.assertThrows(InvalidMoveException.class, () -> game.makeMove(kingside));
+        Assertions.assertTrue(game.validMoves(ChessPosition.of(1, 5)).contains(queenside));
+    }
+}
@@ -0,0 +1,57 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class PerftTests {
+
+    private static final long MAX_NODES = 200_000;
+
+    @ParameterizedTest
+    @EnumSource(PerftPosition.class)
+    @DisplayName("Perft Node Counts")
+    public void perftNodeCounts(PerftPosition position) {
+        ChessGame game = position.newGame();
+        long key = game.getPositionKey();
+        for (int depth = 1; depth <= position.maxDepth() && position.nodeCount(depth) <= MAX_NODES; depth++) {
+            Assertions.assertEquals(position.nodeCount(depth), Perft.perft(game, depth),
+                    "Wrong node count at depth " + depth);
+        }
+        Assertions.assertEquals(key, game.getPositionKey(), "Perft did not restore the position");
+    }
+
+    @ParameterizedTest
+    @EnumSource(PerftPosition.class)
+    @DisplayName("Parallel Perft Node Counts")
+    public void parallelPerftNodeCounts(PerftPosition position) {
+        ChessGame game = position.newGame();
+        ParallelPerft plain = new ParallelPerft(4, 0);
+        ParallelPerft hashed = new ParallelPerft(4, 1 << 16);
+        try {
+            for (int depth = 1; depth <= position.maxDepth() && position.nodeCount(depth) <= MAX_NODES * 10;
+                 depth++) {
+                Assertions.assertEquals(position.nodeCount(depth), plain.perft(game, depth),
+                        "Wrong node count at depth " + depth);
+                Assertions.assertEquals(position.nodeCount(depth), hashed.perft(game, depth),
+                        "Wrong node count with the shared hash at depth " + depth);
+            }
+        } finally {
+            plain.shutdown();
+            hashed.shutdown();
+        }
+        Assertions.assertEquals(position.newGame(), game, "Parallel perft changed the game");
+    }
+
+    @Test
+    @DisplayName("Divide Adds Up to Perft")
+    public void divideAddsUp() {
+        ChessGame game = PerftPosition.KIWIPETE.newGame();
+        var counts = Perft.divide(game, 2);
+        Assertions.assertEquals(48, counts.size(), "Wrong number of root moves");
+        Assertions.assertEquals(PerftPosition.KIWIPETE.nodeCount(2),
+                counts.values().stream().mapToLong(Long::longValue).sum());
+    }
+}
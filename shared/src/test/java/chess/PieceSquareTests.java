@@ -0,0 +1,54 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class PieceSquareTests {
+
+    @ParameterizedTest
+    @EnumSource(PerftPosition.class)
+    @DisplayName("Scores Follow Moves")
+    public void scoresFollowMoves(PerftPosition position) {
+        PositionWalker.walk(position.newGame(), 3, game -> assertScoresMatch(game.getBoard()));
+    }
+
+    @Test
+    @DisplayName("Start Position Is Balanced")
+    public void startPositionIsBalanced() {
+        var board = new ChessBoard();
+        board.resetBoard();
+        Assertions.assertEquals(board.getMiddlegameScore(ChessGame.TeamColor.WHITE),
+                board.getMiddlegameScore(ChessGame.TeamColor.BLACK));
+        Assertions.assertEquals(board.getEndgameScore(ChessGame.TeamColor.WHITE),
+                board.getEndgameScore(ChessGame.TeamColor.BLACK));
+        Assertions.assertEquals(PieceSquareTables.MAX_PHASE, board.getPhase());
+    }
+
+    @Test
+    @DisplayName("Tables Mirror For Black")
+    public void tablesMirrorForBlack() {
+        for (int type = 0; type < 6; type++) {
+            for (int square = 0; square < 64; square++) {
+                Assertions.assertEquals(PieceSquareTables.middlegame(type, square),
+                        PieceSquareTables.middlegame(6 + type, square ^ 56));
+                Assertions.assertEquals(PieceSquareTables.endgame(type, square),
+                        PieceSquareTables.endgame(6 + type, square ^ 56));
+            }
+        }
+        int knight = Bitboards.pieceIndex(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT);
+        Assertions.assertTrue(PieceSquareTables.middlegame(knight, Bitboards.square(4, 5))
+                > PieceSquareTables.middlegame(knight, Bitboards.square(1, 1)), "Knights belong in the center");
+    }
+
+    private static void assertScoresMatch(ChessBoard board) {
+        ChessBoard rebuilt = Fen.parseBoard(Fen.formatBoard(board));
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            Assertions.assertEquals(rebuilt.getMiddlegameScore(color), board.getMiddlegameScore(color));
+            Assertions.assertEquals(rebuilt.getEndgameScore(color), board.getEndgameScore(color));
+        }
+        Assertions.assertEquals(rebuilt.getPhase(), board.getPhase());
+    }
+}
@@ -0,0 +1,36 @@
+package chess;
+
+import java.util.function.Consumer;
+
+/**
+ * Test helper that plays every line of legal moves to a depth and checks an
+ * invariant at each position on the way
+ */
+public final class PositionWalker {
+
+    private PositionWalker() {
+
+    }
+
+    /**
+     * Checks the invariant at the game's position and at every position up to
+     * the depth below it. Each position is checked again once the moves below
+     * it are undone, so a move that is not undone cleanly is caught.
+     *
+     * @param game      the game to walk from, which is left as it was found
+     * @param depth     how many moves deep to walk
+     * @param invariant assertions about the game's current position
+     */
+    public static void walk(ChessGame game, int depth, Consumer<ChessGame> invariant) {
+        invariant.accept(game);
+        if (depth == 0) {
+            return;
+        }
+        for (ChessMove move : game.validMoves(game.getTeamTurn())) {
+            game.doMove(move);
+            walk(game, depth - 1, invariant);
+            game.undoMove();
+        }
+        invariant.accept(game);
+    }
+}
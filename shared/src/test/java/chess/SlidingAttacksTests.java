@@ -0,0 +1,43 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class SlidingAttacksTests {
+
+    @Test
+    @DisplayName("Magic Lookups Match Ray Walks")
+    public void magicLookupsMatchRayWalks() {
+        Random random = new Random(240);
+        for (int i = 0; i < 2000; i++) {
+            long occupied = random.nextLong() & random.nextLong();
+            for (int square = 0; square < 64; square++) {
+                Assertions.assertEquals(walk(square, occupied, 1, 0) | walk(square, occupied, 0, 1)
+                                | walk(square, occupied, -1, 0) | walk(square, occupied, 0, -1),
+                        SlidingAttacks.rookAttacks(square, occupied), "Wrong rook attacks");
+                Assertions.assertEquals(walk(square, occupied, 1, 1) | walk(square, occupied, -1, 1)
+                                | walk(square, occupied, -1, -1) | walk(square, occupied, 1, -1),
+                        SlidingAttacks.bishopAttacks(square, occupied), "Wrong bishop attacks");
+            }
+        }
+    }
+
+    private static long walk(int square, long occupied, int rowStep, int columnStep) {
+        long attacks = 0L;
+        int row = Bitboards.row(square) + rowStep;
+        int column = Bitboards.column(square) + columnStep;
+        while (row >= 1 && row <= 8 && column >= 1 && column <= 8) {
+            long bit = Bitboards.bit(Bitboards.square(row, column));
+            attacks |= bit;
+            if ((occupied & bit) != 0) {
+                break;
+            }
+            row += rowStep;
+            column += columnStep;
+        }
+        return attacks;
+    }
+}
@@ -0,0 +1,52 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import passoff.chess.TestUtilities;
+
+public class UndoMoveTests {
+
+    @Test
+    @DisplayName("Undo Restores Special Moves")
+    public void undoRestoresSpecialMoves() {
+        var game = new ChessGame();
+        game.setBoard(TestUtilities.loadBoard("""
+                |r| | | |k| | |r|
+                | |P| | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | |p| | | | |
+                | | | | | | | | |
+                | | | | |P| | | |
+                |R| | | |K| | |R|
+                """));
+        game.setTeamTurn(ChessGame.TeamColor.WHITE);
+        var expectedBoard = new ChessBoard(game.getBoard());
+        long startKey = game.getPositionKey();
+
+        game.doMove(move(2, 5, 4, 5, null));
+        long enPassantKey = game.getPositionKey();
+        game.doMove(move(4, 4, 3, 5, null));
+        Assertions.assertNull(game.getBoard().getPiece(new ChessPosition(4, 5)), "En passant did not capture");
+        game.doMove(move(7, 2, 8, 1, ChessPiece.PieceType.QUEEN));
+        game.doMove(move(8, 5, 8, 7, null));
+        game.doMove(move(1, 5, 1, 3, null));
+
+        for (int i = 0; i < 4; i++) {
+            game.undoMove();
+        }
+        Assertions.assertEquals(enPassantKey, game.getPositionKey());
+        game.undoMove();
+
+        Assertions.assertEquals(expectedBoard, game.getBoard());
+        Assertions.assertEquals(startKey, game.getPositionKey());
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, game.getTeamTurn());
+        Assertions.assertThrows(IllegalStateException.class, game::undoMove);
+    }
+
+    private static ChessMove move(int fromRow, int fromColumn, int toRow, int toColumn,
+                                  ChessPiece.PieceType promotion) {
+        return new ChessMove(new ChessPosition(fromRow, fromColumn), new ChessPosition(toRow, toColumn), promotion);
+    }
+}
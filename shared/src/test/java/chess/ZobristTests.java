@@ -0,0 +1,50 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ZobristTests {
+
+    @Test
+    @DisplayName("Transposed Move Orders Share a Key")
+    public void transposedMoveOrders() throws InvalidMoveException {
+        var first = new ChessGame();
+        play(first, 1, 2, 3, 3);
+        play(first, 8, 2, 6, 3);
+        play(first, 1, 7, 3, 6);
+
+        var second = new ChessGame();
+        play(second, 1, 7, 3, 6);
+        play(second, 8, 2, 6, 3);
+        play(second, 1, 2, 3, 3);
+
+        Assertions.assertEquals(first.getPositionKey(), second.getPositionKey());
+        Assertions.assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Incremental Key Matches Fresh Board")
+    public void incrementalKeyMatchesFreshBoard() throws InvalidMoveException {
+        var game = new ChessGame();
+        long startKey = game.getPositionKey();
+        play(game, 1, 7, 3, 6);
+        Assertions.assertNotEquals(startKey, game.getPositionKey(), "Moving a piece did not change the key");
+        play(game, 8, 7, 6, 6);
+        play(game, 3, 6, 1, 7);
+        play(game, 6, 6, 8, 7);
+
+        var fresh = new ChessBoard();
+        fresh.resetBoard();
+        Assertions.assertEquals(fresh.getZobristKey(), game.getBoard().getZobristKey());
+        Assertions.assertEquals(startKey, game.getPositionKey());
+
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+        Assertions.assertNotEquals(startKey, game.getPositionKey(), "Side to move is not part of the key");
+    }
+
+    private static void play(ChessGame game, int fromRow, int fromColumn, int toRow, int toColumn)
+            throws InvalidMoveException {
+        game.makeMove(new ChessMove(new ChessPosition(fromRow, fromColumn), new ChessPosition(toRow, toColumn), null));
+    }
+}
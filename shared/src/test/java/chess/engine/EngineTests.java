@@ -0,0 +1,137 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.Fen;
+import chess.Move;
+import chess.PerftPosition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class EngineTests {
+
+    @Test
+    @DisplayName("Mate In One")
+    public void mateInOne() {
+        try (Engine engine = new Engine(1, 4)) {
+            SearchResult result = engine.search(Fen.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"),
+                    SearchLimits.ofDepth(3));
+            Assertions.assertEquals(new ChessMove(ChessPosition.of(1, 1), ChessPosition.of(8, 1), null),
+                    result.getBestMove());
+            Assertions.assertTrue(result.isMate());
+            Assertions.assertEquals(Searcher.MATE - 1, result.getScore());
+        }
+    }
+
+    @Test
+    @DisplayName("Mate In Two")
+    public void mateInTwo() {
+        try (Engine engine = new Engine(1, 4)) {
+            SearchResult result = engine.search(Fen.parse("7k/8/8/8/8/8/R7/1R5K w - - 0 1"),
+                    SearchLimits.ofDepth(4));
+            Assertions.assertTrue(result.isMate());
+            Assertions.assertEquals(Searcher.MATE - 3, result.getScore());
+        }
+    }
+
+    @Test
+    @DisplayName("Takes Free Piece")
+    public void takesFreePiece() {
+        try (Engine engine = new Engine(1, 4)) {
+            SearchResult result = engine.search(Fen.parse("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1"),
+                    SearchLimits.ofDepth(3));
+            Assertions.assertEquals(new ChessMove(ChessPosition.of(2, 4), ChessPosition.of(5, 4), null),
+                    result.getBestMove());
+            Assertions.assertTrue(result.getScore() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Stalemate Has No Move")
+    public void stalemateHasNoMove() {
+        try (Engine engine = new Engine(1, 4)) {
+            SearchResult result = engine.search(Fen.parse("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1"),
+                    SearchLimits.ofDepth(3));
+            Assertions.assertNull(result.getBestMove());
+            Assertions.assertEquals(0, result.getScore());
+        }
+    }
+
+    @Test
+    @DisplayName("Respects Node Limit")
+    public void respectsNodeLimit() {
+        ChessGame game = PerftPosition.KIWIPETE.newGame();
+        String before = Fen.format(game);
+        try (Engine engine = new Engine(1, 4)) {
+            SearchResult result = engine.search(game, SearchLimits.ofNodes(5000));
+            Assertions.assertNotNull(result.getBestMove());
+            Assertions.assertTrue(result.getNodes() < 5000 + 1024, "Searched " + result.getNodes() + " nodes");
+            Assertions.assertTrue(game.validMoves(game.getTeamTurn()).contains(result.getBestMove()));
+        }
+        Assertions.assertEquals(before, Fen.format(game), "Search changed the game");
+    }
+
+    @Test
+    @DisplayName("Respects Time Limit")
+    public void respectsTimeLimit() {
+        try (Engine engine = new Engine(2, 4)) {
+            SearchResult result = engine.search(new ChessGame(), SearchLimits.ofTime(200));
+            Assertions.assertNotNull(result.getBestMove());
+            Assertions.assertTrue(result.getTimeMillis() < 2000, "Searched for " + result.getTimeMillis() + " ms");
+        }
+    }
+
+    @Test
+    @DisplayName("Multithreaded Search")
+    public void multithreadedSearch() {
+        ChessGame game = PerftPosition.KIWIPETE.newGame();
+        try (Engine engine = new Engine(3, 8)) {
+            SearchResult result = engine.search(game, SearchLimits.ofDepth(4));
+            Assertions.assertEquals(4, result.getDepth());
+            Assertions.assertTrue(game.validMoves(game.getTeamTurn()).contains(result.getBestMove()));
+
+            SearchResult mate = engine.search(Fen.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"),
+                    SearchLimits.ofDepth(3));
+            Assertions.assertEquals(Searcher.MATE - 1, mate.getScore());
+        }
+    }
+
+    @Test
+    @DisplayName("Evaluation Is Symmetric")
+    public void evaluationIsSymmetric() {
+        Assertions.assertEquals(0, Evaluation.evaluate(new ChessGame()));
+        int white = Evaluation.evaluate(Fen.parse("4k3/8/8/8/8/2N5/PP6/4K3 w - - 0 1"));
+        int black = Evaluation.evaluate(Fen.parse("4k3/pp6/2n5/8/8/8/8/4K3 b - - 0 1"));
+        Assertions.assertTrue(white > 0);
+        Assertions.assertEquals(white, black);
+    }
+
+    @Test
+    @DisplayName("Limits Need A Limit")
+    public void limitsNeedALimit() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SearchLimits(0, 0, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SearchLimits.ofNodes(-1));
+    }
+
+    @Test
+    @DisplayName("Transposition Table")
+    public void transpositionTable() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x123456789ABCDEFL;
+        Assertions.assertEquals(0, table.probe(key));
+
+        int move = Move.of(12, 28, null);
+        table.store(key, move, -250, 7, TranspositionTable.LOWER_BOUND);
+        long entry = table.probe(key);
+        Assertions.assertEquals(move, TranspositionTable.move(entry));
+        Assertions.assertEquals(-250, TranspositionTable.score(entry));
+        Assertions.assertEquals(7, TranspositionTable.depth(entry));
+        Assertions.assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+        Assertions.assertEquals(0, table.probe(key ^ 1L << 40), "Probe matched another key in the same slot");
+
+        table.clear();
+        Assertions.assertEquals(0, table.probe(key));
+    }
+}
@@ -0,0 +1,101 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.Fen;
+import chess.Move;
+import chess.MoveGenerator;
+import chess.MoveList;
+import chess.PerftPosition;
+import chess.PositionWalker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class MovePickerTests {
+
+    @ParameterizedTest
+    @EnumSource(PerftPosition.class)
+    @DisplayName("Picks Every Legal Move Once")
+    public void picksEveryLegalMoveOnce(PerftPosition position) {
+        PositionWalker.walk(position.newGame(), 2, MovePickerTests::assertPicksLegalMoves);
+    }
+
+    @Test
+    @DisplayName("Hash Move Comes First")
+    public void hashMoveComesFirst() {
+        ChessGame game = PerftPosition.KIWIPETE.newGame();
+        MovePicker picker = new MovePicker(game);
+        int quiet = Move.of(0, 1, null);
+        picker.reset(quiet, true);
+        Assertions.assertEquals(quiet, picker.next(), "Legal hash move a1b1 is tried first");
+
+        picker.reset(Move.of(20, 44, null), true);
+        Assertions.assertNotEquals(Move.of(20, 44, null), picker.next(), "Illegal hash move is skipped");
+    }
+
+    @Test
+    @DisplayName("Stages In Order")
+    public void stagesInOrder() {
+        // White can take a free rook with the knight, take defended pawns with
+        // the knight or the queen, or push a pawn to promote
+        ChessGame game = Fen.parse("8/1P2k3/3p4/r1p5/8/1N1Q4/8/4K3 w - - 0 1");
+        MovePicker picker = new MovePicker(game);
+        picker.reset(0, true);
+        Assertions.assertEquals(Move.of(17, 32, null), picker.next(), "Winning capture first");
+        Assertions.assertEquals(Move.of(49, 57, ChessPiece.PieceType.QUEEN), picker.next(), "Then promotions");
+
+        int last = 0;
+        for (int move = picker.next(); move != 0; move = picker.next()) {
+            last = move;
+        }
+        Assertions.assertEquals(Move.of(19, 43, null), last, "Losing capture last");
+    }
+
+    @Test
+    @DisplayName("Captures Only")
+    public void capturesOnly() {
+        ChessGame game = PerftPosition.KIWIPETE.newGame();
+        MovePicker picker = new MovePicker(game);
+        picker.reset(0, false);
+        int count = 0;
+        for (int move = picker.next(); move != 0; move = picker.next()) {
+            Assertions.assertNotNull(game.getBoard().getPiece(Move.to(move)), "Picked a quiet move");
+            count++;
+        }
+        Assertions.assertEquals(8, count);
+    }
+
+    @Test
+    @DisplayName("Only Pawns Capture En Passant")
+    public void onlyPawnsCaptureEnPassant() {
+        // The knight on b5 can step onto the en passant square d6
+        ChessGame game = Fen.parse("4k3/8/8/1N1pP3/8/8/8/4K3 w - d6 0 1");
+        MovePicker picker = new MovePicker(game);
+        picker.reset(0, false);
+        Assertions.assertEquals(Move.of(36, 43, null), picker.next());
+        Assertions.assertEquals(0, picker.next(), "Knight move to the en passant square picked as a capture");
+        assertPicksLegalMoves(game);
+    }
+
+    private static void assertPicksLegalMoves(ChessGame game) {
+        MoveList legal = new MoveList();
+        MoveGenerator.generateLegalMoves(game, game.getTeamTurn(), -1L, legal);
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < legal.size(); i++) {
+            expected.add(legal.get(i));
+        }
+        MovePicker picker = new MovePicker(game);
+        picker.reset(legal.isEmpty() ? 0 : legal.get(legal.size() / 2), true);
+        Set<Integer> picked = new HashSet<>();
+        for (int move = picker.next(); move != 0; move = picker.next()) {
+            Assertions.assertTrue(picked.add(move), "Picked " + Move.toChessMove(move) + " twice");
+        }
+        Assertions.assertEquals(expected, picked);
+    }
+}
@@ -0,0 +1,84 @@
+package chess.engine;
+
+import chess.Bitboards;
+import chess.ChessBoard;
+import chess.ChessPiece;
+import chess.Fen;
+import chess.Move;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StaticExchangeTests {
+
+    @Test
+    @DisplayName("Free Pawn")
+    public void freePawn() {
+        ChessBoard board = Fen.parseBoard("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3");
+        Assertions.assertEquals(100, StaticExchange.evaluate(board, move("e1", "e5")));
+    }
+
+    @Test
+    @DisplayName("X-Ray Attackers")
+    public void xRayAttackers() {
+        // The white queen backs the rook on the e-file and the black queen
+        // backs the bishop on the long diagonal
+        ChessBoard board = Fen.parseBoard("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3");
+        Assertions.assertEquals(-220, StaticExchange.evaluate(board, move("d3", "e5")));
+    }
+
+    @Test
+    @DisplayName("King Cannot Recapture")
+    public void kingCannotRecapture() {
+        ChessBoard board = Fen.parseBoard("3k4/3p4/8/8/8/8/3R4/3RK3");
+        Assertions.assertEquals(100, StaticExchange.evaluate(board, move("d2", "d7")));
+        board.addPiece(Bitboards.square(1, 4), null);
+        Assertions.assertEquals(-400, StaticExchange.evaluate(board, move("d2", "d7")));
+    }
+
+    @Test
+    @DisplayName("Defended Piece")
+    public void defendedPiece() {
+        ChessBoard board = Fen.parseBoard("4k3/8/2p5/3n4/8/8/8/3QK3");
+        Assertions.assertEquals(-580, StaticExchange.evaluate(board, move("d1", "d5")));
+        Assertions.assertEquals(0, StaticExchange.threat(board, Bitboards.square(5, 4)));
+    }
+
+    @Test
+    @DisplayName("En Passant And Promotion")
+    public void enPassantAndPromotion() {
+        ChessBoard board = Fen.parseBoard("4k3/8/8/3pP3/8/8/8/4K3");
+        Assertions.assertEquals(100, StaticExchange.evaluate(board, move("e5", "d6")));
+
+        board = Fen.parseBoard("r3k3/1P6/8/8/8/8/8/4K3");
+        Assertions.assertEquals(1300, StaticExchange.evaluate(board,
+                Move.of(Bitboards.square(7, 2), Bitboards.square(8, 1), ChessPiece.PieceType.QUEEN)));
+    }
+
+    @Test
+    @DisplayName("Pawn Recapture Promotes")
+    public void pawnRecapturePromotes() {
+        // The black pawn takes the rook back on d1 and becomes a queen
+        ChessBoard board = Fen.parseBoard("4k3/8/8/8/3R4/7K/4p3/3n4");
+        Assertions.assertEquals(-980, StaticExchange.evaluate(board, move("d4", "d1")));
+
+        board = Fen.parseBoard("4k3/8/8/8/8/7K/4p3/3N4");
+        Assertions.assertEquals(1120, StaticExchange.threat(board, Bitboards.square(1, 4)));
+    }
+
+    @Test
+    @DisplayName("Hanging Piece")
+    public void hangingPiece() {
+        ChessBoard board = Fen.parseBoard("4k3/8/8/3n4/4P3/8/8/4K3");
+        Assertions.assertEquals(320, StaticExchange.threat(board, Bitboards.square(5, 4)));
+        Assertions.assertEquals(0, StaticExchange.threat(board, Bitboards.square(4, 5)));
+    }
+
+    private static int move(String from, String to) {
+        return Move.of(square(from), square(to), null);
+    }
+
+    private static int square(String name) {
+        return Bitboards.square(name.charAt(1) - '0', name.charAt(0) - 'a' + 1);
+    }
+}
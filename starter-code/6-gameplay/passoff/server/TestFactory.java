@@ -1,5 +1,6 @@
 package passoff.server;
 
+import chess.ChessJson;
 import com.google.gson.GsonBuilder;
 
 public class TestFactory {
@@ -23,7 +24,8 @@ public class TestFactory {
          * If you would like to change the way the web socket test cases serialize
          * or deserialize chess objects like ChessMove, you may add type adapters here.
          */
-        GsonBuilder builder = new GsonBuilder();
+        // ChessJson registers the shared adapters for the chess classes, e.g. a ChessMove as "e2e4"
+        GsonBuilder builder = ChessJson.builder();
         // builder.registerTypeAdapter(ChessMove.class, /*type adapter or json serializer */);
         return builder;
     }